@@ -0,0 +1,134 @@
+package uni.architect.SystemArchitect;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uni.architect.SystemArchitect.dispatch.RoundRobinSelector;
+import uni.architect.SystemArchitect.dispatch.ScanRoundRobinSelector;
+import uni.architect.SystemArchitect.dispatch.WorkerSelector;
+import uni.architect.SystemArchitect.lockstep.LockstepSimulator;
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorBenchmark {
+
+    /**
+     * All workers are busy except one, which jumps half the ring on every call, so a linear
+     * round-robin scan has to visit about half of the workers as in a nearly saturated system.
+     */
+    @State(Scope.Thread)
+    public static class SaturatedWorkers {
+        @Param({"2", "10", "100", "1000", "10000"})
+        public int numWorkers;
+
+        @Param({"scan", "indexed"})
+        public String selection;
+
+        WorkerSelector selector;
+        List<Worker> workers;
+        int idle;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(1);
+            workers = new ArrayList<>();
+            for (int i = 0; i < numWorkers; i++) {
+                workers.add(new Worker(i, true, 0.0, 1.0, null, 0, random));
+            }
+            selector = selection.equals("scan") ? new ScanRoundRobinSelector(workers) : new RoundRobinSelector(numWorkers);
+            for (int i = 0; i < numWorkers; i++) {
+                selector.onBusy(i);
+            }
+            idle = 0;
+            workers.get(idle).setBusy(false);
+            selector.onIdle(idle);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StandardRun {
+        SimulationConfig config = SimulationConfig.standard().toBuilder().simulationTime(10000).build();
+        long seed = 0;
+    }
+
+    @State(Scope.Benchmark)
+    public static class LockstepRun {
+        @Param({"1", "8", "64"})
+        int lanes;
+
+        SimulationConfig config = SimulationConfig.standard().toBuilder().simulationTime(10000).build();
+        LockstepSimulator simulator;
+        long seed = 0;
+
+        @Setup
+        public void setUp() {
+            simulator = new LockstepSimulator(config, lanes);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int chooseWorker(SaturatedWorkers state) {
+        state.workers.get(state.idle).setBusy(true);
+        state.selector.onBusy(state.idle);
+        state.idle = (state.idle + state.numWorkers / 2 + 1) % state.numWorkers;
+        state.workers.get(state.idle).setBusy(false);
+        state.selector.onIdle(state.idle);
+        return state.selector.select();
+    }
+
+    // the "events" counter reports simulated events per second
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public SimulationResult headlessRun(StandardRun run, EventCounter counter) {
+        Simulator simulator = Simulator.create(run.config, new SplittableRandom(run.seed++), true, false);
+        SimulationResult result = simulator.simulate(run.config.getSimulationTime());
+        counter.events += result.getEventCount();
+        return result;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<SimulationResult> lockstepRun(LockstepRun run, EventCounter counter) {
+        List<SplittableRandom> streams = new ArrayList<>(run.lanes);
+        for (int i = 0; i < run.lanes; i++) {
+            streams.add(new SplittableRandom(run.seed++));
+        }
+        List<SimulationResult> results = run.simulator.run(streams);
+        for (SimulationResult result : results) {
+            counter.events += result.getEventCount();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,65 @@
+package uni.architect.SystemArchitect.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uni.architect.SystemArchitect.model.Event;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classic hold model: the calendar keeps a constant size, every operation polls the earliest event
+ * and schedules a new one at an exponentially distributed offset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSchedulerBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private HeapEventScheduler heap;
+    private PriorityQueue<Event> priorityQueue;
+
+    @Setup
+    public void setUp() {
+        heap = new HeapEventScheduler(size);
+        priorityQueue = new PriorityQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            double time = random.nextExponential();
+            heap.schedule(Event.EventType.COMPLETION, time, i);
+            priorityQueue.add(new Event(Event.EventType.COMPLETION, time, i));
+        }
+    }
+
+    @Benchmark
+    public double heapHold() {
+        heap.poll();
+        double time = heap.getCurrentTime() + random.nextExponential();
+        heap.schedule(heap.getCurrentType(), time, heap.getCurrentObjectNumber());
+        return time;
+    }
+
+    @Benchmark
+    public double priorityQueueHold() {
+        Event event = priorityQueue.poll();
+        double time = event.getTime() + random.nextExponential();
+        priorityQueue.add(new Event(event.getType(), time, event.getObjectNumber()));
+        return time;
+    }
+}
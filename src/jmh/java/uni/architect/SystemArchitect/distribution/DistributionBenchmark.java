@@ -0,0 +1,57 @@
+package uni.architect.SystemArchitect.distribution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistributionBenchmark {
+    @Param({"exponential", "erlang4", "hyperexponential", "lognormal", "empirical"})
+    public String distribution;
+
+    private Distribution sampler;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(1);
+        sampler = switch (distribution) {
+            case "erlang4" -> new ErlangDistribution(4, 1.0);
+            case "hyperexponential" -> HyperExponentialDistribution.balanced(1.0, 10.0);
+            case "lognormal" -> LogNormalDistribution.ofMean(1.0, 2.0);
+            case "empirical" -> heavyTailedEmpirical(random);
+            default -> new ExponentialDistribution(1.0);
+        };
+    }
+
+    // 100000 Pareto(1.5) observations, the kind of service-time log the empirical sampler is meant for
+    private static Distribution heavyTailedEmpirical(SplittableRandom random) {
+        double[] samples = new double[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = Math.pow(1 - random.nextDouble(), -1 / 1.5);
+        }
+        return EmpiricalDistribution.ofSamples(samples);
+    }
+
+    @Benchmark
+    public double sample() {
+        return sampler.sample(random);
+    }
+}
@@ -0,0 +1,80 @@
+package uni.architect.SystemArchitect.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+    private static final int SOURCES = 3;
+    private static final int REQUESTS = 4096;
+
+    @Param({"Buffer", "PriorityRingBuffer"})
+    public String implementation;
+
+    @Param({"empty", "half", "overloaded"})
+    public String load;
+
+    @Param({"10", "1000"})
+    public int capacity;
+
+    private RequestBuffer buffer;
+    private Request[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        requests = new Request[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int source = random.nextInt(SOURCES);
+            requests[i] = new Request(source, i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        buffer = implementation.equals("Buffer") ? new Buffer(capacity) : new PriorityRingBuffer(capacity, SOURCES);
+        int initial = switch (load) {
+            case "half" -> capacity / 2;
+            case "overloaded" -> capacity;
+            default -> 0;
+        };
+        for (int i = 0; i < initial; i++) {
+            buffer.addRequest(nextRequest());
+        }
+    }
+
+    // one arrival and one departure, so the occupancy stays where the iteration started
+    @Benchmark
+    public void addAndTake(Blackhole blackhole) {
+        blackhole.consume(buffer.addRequest(nextRequest()));
+        if (!load.equals("overloaded")) {
+            blackhole.consume(buffer.getNextRequest());
+        }
+    }
+
+    private Request nextRequest() {
+        Request request = requests[next];
+        next = (next + 1) & (REQUESTS - 1);
+        return request;
+    }
+}
@@ -0,0 +1,45 @@
+package uni.architect.SystemArchitect;
+
+/**
+ * Box-drawing calendar table shared by the step-by-step mode and the offline trace renderer.
+ */
+public final class EventTable {
+    private static final String ROW_FORMAT = "║ %-13s ║   %6.2f  ║    %5d     ║     %5s     ║  %-14s ║  %-31s ║ %-26s %n";
+
+    private EventTable() {
+    }
+
+    public static void printHeader() {
+        System.out.println("╔═══════════════════════════════════════════════════════════╗");
+        System.out.println("║     Система массового обслуживания - Симулятор            ║");
+        System.out.println("╚═══════════════════════════════════════════════════════════╝");
+        System.out.println();
+        System.out.println("╔════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════");
+        System.out.println("║                                                  Календарь событий                                                                       ");
+        System.out.println("╠═══════════════╦═══════════╦══════════════╦═══════════════╦═════════════════╦══════════════════════════════════╦════════════════════════════");
+        System.out.println("║   Событие     ║   Время   ║ Число заявок ║ Число отказов ║  Номер заявки   ║    Состояние прибора             ║  Состояние буфера          ");
+        System.out.println("╠═══════════════╬═══════════╬══════════════╬═══════════════╬═════════════════╬══════════════════════════════════╬════════════════════════════");
+    }
+
+    public static void printFooter() {
+        System.out.println("╚═══════════════╩═══════════╩══════════════╩═══════════════╩═════════════════╩══════════════════════════════════╩════════════════════════════");
+    }
+
+    public static void printRow(String eventName, double time, long requests, String declined, String requestNum,
+                                String workerState, String bufferState) {
+        System.out.printf(ROW_FORMAT, eventName, time, requests, declined, requestNum, workerState, bufferState);
+    }
+
+    /**
+     * @param events pending events, or null when they are not known (offline rendering)
+     */
+    public static void printSysState(String deviceStates, String events) {
+        System.out.println("╠═══════════════╬═══════════╩══════════════╩═══════════════╩═════════════════╩══════════════════════════════════╩════════════════════════════");
+        System.out.println("║ Приборы       ║ " + deviceStates);
+        if (events != null) {
+            System.out.println("╠═══════════════╬════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════");
+            System.out.println("║ События       ║ " + events);
+        }
+        System.out.println("╠═══════════════╬═══════════╦══════════════╦═══════════════╦═════════════════╦══════════════════════════════════╦════════════════════════════");
+    }
+}
@@ -1,17 +1,127 @@
 package uni.architect.SystemArchitect;
 
-import uni.architect.SystemArchitect.model.Buffer;
-import uni.architect.SystemArchitect.model.Generator;
-import uni.architect.SystemArchitect.model.Worker;
+import uni.architect.SystemArchitect.arrival.PiecewiseLinearRate;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.BatchSize;
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+import uni.architect.SystemArchitect.experiment.CandidateEvaluation;
+import uni.architect.SystemArchitect.experiment.ConfigurationSearch;
+import uni.architect.SystemArchitect.experiment.GradientTuner;
+import uni.architect.SystemArchitect.experiment.PairedComparison;
+import uni.architect.SystemArchitect.experiment.RareEventEstimate;
+import uni.architect.SystemArchitect.experiment.ReplicationRunner;
+import uni.architect.SystemArchitect.experiment.ReplicationSummary;
+import uni.architect.SystemArchitect.experiment.RestartEstimator;
+import uni.architect.SystemArchitect.experiment.SearchSpace;
+import uni.architect.SystemArchitect.experiment.TuningResult;
+import uni.architect.SystemArchitect.network.NetworkConfig;
+import uni.architect.SystemArchitect.network.NetworkResult;
+import uni.architect.SystemArchitect.network.ParallelNetworkEngine;
+import uni.architect.SystemArchitect.network.SequentialNetworkEngine;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+import uni.architect.SystemArchitect.sweep.ExperimentPlan;
+import uni.architect.SystemArchitect.sweep.ExperimentPoint;
+import uni.architect.SystemArchitect.sweep.ExperimentRunner;
+import uni.architect.SystemArchitect.sweep.ResultCache;
+import uni.architect.SystemArchitect.sweep.ResultWriter;
+import uni.architect.SystemArchitect.trace.TraceWriter;
+import uni.architect.SystemArchitect.workload.WorkloadLog;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 public class Main {
     public static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("optimise")) {
+            List<Double> processingTimes = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) {
+                processingTimes.add(Double.parseDouble(args[i]));
+            }
+            optimise(processingTimes);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("tune")) {
+            int minWorkers = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+            int maxWorkers = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+            tune(minWorkers, maxWorkers);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("peak")) {
+            int workers = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+            int days = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+            peak(workers, days);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("experiment")) {
+            experiment(Path.of(args[1]));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("trace")) {
+            double simulationTime = args.length > 2 ? Double.parseDouble(args[2]) : 1000;
+            SimulationConfig config = SimulationConfig.standard();
+            Simulator simulator = Simulator.create(config, new SplittableRandom(), true, false);
+            try (TraceWriter trace = new TraceWriter(Path.of(args[1]), config.getNumGenerators(), config.getNumWorkers())) {
+                simulator.setTrace(trace);
+                simulator.runSimulation(simulationTime);
+            }
+            return;
+        }
+        if (args.length > 1 && args[0].equals("workload")) {
+            double simulationTime = args.length > 2 ? Double.parseDouble(args[2]) : 10000;
+            try (WorkloadLog log = new WorkloadLog(Path.of(args[1]))) {
+                SimulationConfig config = SimulationConfig.standard().toBuilder().workload(log).build();
+                Simulator.create(config, new SplittableRandom(), true, false).runSimulation(simulationTime);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("network")) {
+            // network [threads] [time] for the bank, network layered <layers> <width> [threads] [time]
+            boolean layered = args.length > 3 && args[1].equals("layered");
+            int next = layered ? 4 : 1;
+            NetworkConfig config = layered
+                    ? NetworkConfig.layered(Integer.parseInt(args[2]), Integer.parseInt(args[3]))
+                    : NetworkConfig.bank();
+            int threads = args.length > next ? Integer.parseInt(args[next]) : Runtime.getRuntime().availableProcessors();
+            double simulationTime = args.length > next + 1 ? Double.parseDouble(args[next + 1]) : 10000;
+            network(config, threads, simulationTime);
+            return;
+        }
+        if (args.length > 4 && args[0].equals("compare")) {
+            int replications = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+            boolean antithetic = args.length > 6 && args[6].equals("antithetic");
+            compare(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                    Integer.parseInt(args[4]), replications, antithetic);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("whatif")) {
+            double warmupTime = args.length > 1 ? Double.parseDouble(args[1]) : 5000;
+            double runTime = args.length > 2 ? Double.parseDouble(args[2]) : 50000;
+            whatIf(warmupTime, runTime);
+            return;
+        }
+        if (args.length > 2 && args[0].equals("rare")) {
+            double runTime = args.length > 3 ? Double.parseDouble(args[3]) : 20000;
+            int replications = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+            rare(Integer.parseInt(args[1]), Integer.parseInt(args[2]), runTime, replications);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("headless")) {
+            PrecisionTarget.PrecisionTargetBuilder target = PrecisionTarget.builder();
+            if (args.length > 1) {
+                target.relativeHalfWidth(Double.parseDouble(args[1]));
+            }
+            SimulationConfig config = SimulationConfig.standard().toBuilder().warmupObservationRequests(100).build();
+            Simulator.create(config, new SplittableRandom(), true, false)
+                    .runHeadless(target.build(), ProgressListener.console());
+            return;
+        }
+
         System.out.println("Стандартные параметры (true/false):");
         boolean standard = scanner.nextBoolean();
 
@@ -64,22 +174,330 @@ public class Main {
         start(needPrint, simulationTime, auto, numGenerators, numWorkers, bufferCapacity, genIntervals, maxProcessingTime);
     }
 
-    private static void start(boolean needPrint, double simulationTime, boolean auto, int numGenerators, int numWorkers,
-                              int bufferCapacity, List<Double> genIntervals, double maxProcessingTime) {
-        List<Generator> generators = new ArrayList<>();
+    private static void optimise(List<Double> processingTimes) {
+        SimulationConfig base = SimulationConfig.standard().toBuilder()
+                .simulationTime(10000)
+                .build();
+        SearchSpace space = SearchSpace.builder()
+                .minWorkers(1)
+                .maxWorkers(30)
+                .minBufferCapacity(0)
+                .maxBufferCapacity(50)
+                .maxProcessingTimes(processingTimes)
+                .build();
+        SlaTargets sla = SlaTargets.standard();
 
-        for (int i = 0; i < numGenerators; i++) {
-            generators.add(new Generator(i, genIntervals.get(i), 0));
+        long startNanos = System.nanoTime();
+        List<CandidateEvaluation> result;
+        ConfigurationSearch search;
+        try (ReplicationRunner runner = new ReplicationRunner()) {
+            search = new ConfigurationSearch(runner, sla, 1);
+            result = search.search(base, space);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                ОПТИМАЛЬНЫЕ КОНФИГУРАЦИИ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ Проверено конфигураций: %d (отсеяно аналитически: %d), прогонов: %d, время поиска: %.1f сек%n",
+                search.getEvaluatedCandidates(), search.getScreenedCandidates(), search.getReplicationsRun(), seconds);
+        if (result.isEmpty()) {
+            System.out.println("║ Ни одна конфигурация не удовлетворяет требованиям");
+        }
+        for (CandidateEvaluation candidate : result) {
+            SimulationConfig config = candidate.getConfig();
+            ReplicationSummary summary = candidate.getSummary();
+            System.out.println("║");
+            System.out.printf("║ %d приборов, %d мест в буфере, макс. время обработки %.2f (%d прогонов)%n",
+                    config.getNumWorkers(), config.getBufferCapacity(), config.getMaxProcessingTime(),
+                    summary.getReplications());
+            System.out.printf("║  Коэффициент использования: %s (%s)%n", summary.getKpdInterval(), sla.describeKpdTarget());
+            for (int source = 0; source < summary.getNumSources(); source++) {
+                System.out.printf("║  Источник И%d: P_отк = %s %s%n",
+                        source + 1, summary.getDeclineInterval(source), sla.describeDeclineTarget(source));
+            }
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * Slowest feasible service for every worker count, found by derivative-guided steps.
+     */
+    private static void tune(int minWorkers, int maxWorkers) {
+        SimulationConfig base = SimulationConfig.standard().toBuilder()
+                .simulationTime(10000)
+                .build();
+        SearchSpace space = SearchSpace.builder()
+                .minWorkers(minWorkers)
+                .maxWorkers(maxWorkers)
+                .build();
+        SlaTargets sla = SlaTargets.standard();
+
+        long startNanos = System.nanoTime();
+        List<TuningResult> results;
+        GradientTuner tuner;
+        try (ReplicationRunner runner = new ReplicationRunner()) {
+            tuner = new GradientTuner(runner, sla, 1);
+            results = tuner.tune(base, space);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                ПОДБОР ПО ПРОИЗВОДНЫМ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ %d мест в буфере, прогонов: %d, время подбора: %.1f сек%n",
+                base.getBufferCapacity(), tuner.getReplicationsRun(), seconds);
+        for (TuningResult result : results) {
+            SimulationConfig config = result.getConfig();
+            ReplicationSummary summary = result.getSummary();
+            System.out.println("║");
+            System.out.printf("║ %d приборов: макс. время обработки %.3f (%d итераций)%s%n", config.getNumWorkers(),
+                    config.getMaxProcessingTime(), result.getIterations(), result.isFeasible() ? "" : " — не подходит");
+            System.out.printf("║  Коэффициент использования: %s (%s), dК/dT = %.3f%n", summary.getKpdInterval(),
+                    sla.describeKpdTarget(), result.getKpdByServiceTime());
+            if (!result.isFeasible() && result.getKpdByServiceTime() > 0) {
+                System.out.printf("║  Требование к использованию выполняется только при T ≥ %.3f%n",
+                        result.extrapolateKpdServiceTime(sla.getMinKpd()));
+            }
+            for (int source = 0; source < summary.getNumSources(); source++) {
+                System.out.printf("║  Источник И%d: P_отк = %s %s, dP/dT = %.4f%n", source + 1,
+                        summary.getDeclineInterval(source), sla.describeDeclineTarget(source),
+                        result.getDeclineByServiceTime()[source]);
+            }
         }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
 
-        List<Worker> workers = new ArrayList<>();
-        for (int i = 0; i < numWorkers; i++) {
-            workers.add(new Worker(i, false, 0.0, maxProcessingTime, null, 0));
+    /**
+     * The same average load arriving evenly, with the daily profile of a bank and with the lowest
+     * priority source sending bulk payment files; a day is 1440 time units.
+     */
+    private static void peak(int workers, int days) {
+        double dayLength = 1440;
+        SimulationConfig stationary = SimulationConfig.standard().toBuilder()
+                .numWorkers(workers)
+                .simulationTime(days * dayLength)
+                .build();
+        SimulationConfig daily = stationary.toBuilder()
+                .arrivalRate(PiecewiseLinearRate.bankDay(dayLength))
+                .build();
+        double filesMean = 25;
+        List<Double> intervals = new ArrayList<>(stationary.getGenIntervals());
+        int bulkSource = intervals.size() - 1;
+        intervals.set(bulkSource, intervals.get(bulkSource) * filesMean);
+        List<BatchSize> batchSizes = new ArrayList<>();
+        for (int source = 0; source < intervals.size(); source++) {
+            batchSizes.add(source == bulkSource ? BatchSize.geometric(filesMean) : null);
         }
+        SimulationConfig files = daily.toBuilder()
+                .genIntervals(intervals)
+                .batchSizes(batchSizes)
+                .build();
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                ПИКОВАЯ НАГРУЗКА");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ %d приборов, %d мест в буфере, %d дней по %.0f единиц времени%n",
+                workers, stationary.getBufferCapacity(), days, dayLength);
+        String[] names = {"Равномерный поток", "Профиль дня", "Профиль дня и пакеты И" + (bulkSource + 1)};
+        SimulationConfig[] configs = {stationary, daily, files};
+        for (int i = 0; i < configs.length; i++) {
+            long startNanos = System.nanoTime();
+            SimulationResult result = Simulator.create(configs[i], new SplitMix64(1), true, false)
+                    .simulate(configs[i].getSimulationTime());
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            System.out.println("║");
+            System.out.printf("║ %s: %,d заявок, %,d событий (%.2f на заявку), %.2f сек%n", names[i],
+                    result.getRequestCount(), result.getEventCount(),
+                    (double) result.getEventCount() / result.getRequestCount(), seconds);
+            System.out.printf("║  КПД %.3f, P_отк = %.4f / %.4f / %.4f%n", result.getKpd(),
+                    result.getDeclineProbability(0), result.getDeclineProbability(1), result.getDeclineProbability(2));
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
 
-        Buffer buffer = new Buffer(bufferCapacity);
+    /**
+     * Runs an experiment plan (see {@link ExperimentPlan}), printing every point as it finishes.
+     */
+    private static void experiment(Path planFile) {
+        ExperimentPlan plan = ExperimentPlan.load(planFile);
+        ResultCache cache = plan.getCacheDirectory() == null ? null : new ResultCache(plan.getCacheDirectory());
+        ExperimentRunner runner = new ExperimentRunner(plan.getThreads(), cache);
+        int numSources = plan.getPoints().stream()
+                .mapToInt(point -> point.getConfig().getNumGenerators()).max().orElse(0);
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                СЕРИЯ ЭКСПЕРИМЕНТОВ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ %d конфигураций, потоков: %d, кэш: %s%n", plan.getPoints().size(), plan.getThreads(),
+                plan.getCacheDirectory() == null ? "нет" : plan.getCacheDirectory());
+        long startNanos = System.nanoTime();
+        try (ResultWriter writer = plan.getOutput() == null ? null : ResultWriter.open(plan.getOutput(), numSources)) {
+            runner.run(plan.getPoints(), result -> {
+                if (writer != null) {
+                    writer.write(result);
+                }
+                ExperimentPoint point = result.getPoint();
+                ReplicationSummary summary = result.getSummary();
+                System.out.printf("║ %s: %d приборов, буфер %d, T = %s, %s — КПД %s, из кэша %d/%d, %.2f сек%n",
+                        point.getExperiment(), point.getConfig().getNumWorkers(), point.getConfig().getBufferCapacity(),
+                        point.getParameters().get("maxProcessingTime"), point.getParameters().get("service"),
+                        summary.getKpdInterval(), result.getCachedReplications(), point.getReplications(),
+                        result.getSeconds());
+            });
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ Прогонов выполнено: %d, взято из кэша: %d, время: %.1f сек%n",
+                runner.getReplicationsRun(), runner.getReplicationsCached(), seconds);
+        if (plan.getOutput() != null) {
+            System.out.println("║ Результаты: " + plan.getOutput());
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    private static void compare(int workersA, int bufferA, int workersB, int bufferB, int replications,
+                                boolean antithetic) {
+        SimulationConfig base = SimulationConfig.standard().toBuilder()
+                .simulationTime(10000)
+                .build();
+        SimulationConfig first = base.toBuilder().numWorkers(workersA).bufferCapacity(bufferA).build();
+        SimulationConfig second = base.toBuilder().numWorkers(workersB).bufferCapacity(bufferB).build();
+
+        PairedComparison comparison;
+        try (ReplicationRunner runner = new ReplicationRunner()) {
+            comparison = runner.compare(first, second, replications, 1, antithetic);
+        }
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                СРАВНЕНИЕ КОНФИГУРАЦИЙ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ A: %d приборов, %d мест в буфере; B: %d приборов, %d мест в буфере%n",
+                workersA, bufferA, workersB, bufferB);
+        System.out.printf("║ Общие случайные числа, %d пар прогонов%s%n", comparison.getReplications(),
+                antithetic ? " (с антитетическими двойниками)" : "");
+        System.out.printf("║ Разность коэффициентов использования B - A: %s%n", comparison.getKpdDifferenceInterval());
+        for (int source = 0; source < comparison.getNumSources(); source++) {
+            ConfidenceInterval interval = comparison.getDeclineDifferenceInterval(source);
+            double reduction = comparison.getDeclineVarianceReduction(source);
+            System.out.printf("║  Источник И%d: P_отк(B) - P_отк(A) = %.6f ± %.6f, снижение дисперсии %s%n",
+                    source + 1, interval.getMean(), interval.getHalfWidth(),
+                    Double.isInfinite(reduction) ? "-" : String.format("в %.1f раз", reduction));
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * Warms the standard system up once and continues it from the same state under every dispatch
+     * policy and a few buffer sizes.
+     */
+    private static void whatIf(double warmupTime, double runTime) {
+        SimulationConfig base = SimulationConfig.standard();
+        Simulator warm = Simulator.create(base, new SplitMix64(1), true, false);
+        warm.simulate(warmupTime);
+        SimulatorSnapshot snapshot = warm.snapshot();
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                ЧТО ЕСЛИ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ Состояние после разгона до t = %.0f (%d байт), продолжение до t = %.0f%n",
+                snapshot.getTime(), snapshot.size(), warmupTime + runTime);
+        for (WorkerSelection selection : WorkerSelection.values()) {
+            for (int capacity = base.getBufferCapacity() - 2; capacity <= base.getBufferCapacity() + 2; capacity += 2) {
+                Simulator child = snapshot.restore(base.toBuilder()
+                        .workerSelection(selection)
+                        .bufferCapacity(capacity)
+                        .build());
+                child.resetStatistics();
+                SimulationResult result = child.simulate(warmupTime + runTime);
+                System.out.printf("║ %-20s буфер %2d: КПД %.3f, P_отк = %.4f / %.4f / %.4f%n", selection, capacity,
+                        result.getKpd(), result.getDeclineProbability(0), result.getDeclineProbability(1),
+                        result.getDeclineProbability(2));
+            }
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * Estimates the decline probability of the top-priority source by RESTART splitting and by plain
+     * simulation of the same root trajectories.
+     */
+    private static void rare(int workers, int bufferCapacity, double runTime, int replications) {
+        SimulationConfig config = SimulationConfig.standard().toBuilder()
+                .numWorkers(workers)
+                .bufferCapacity(bufferCapacity)
+                .build();
+        RareEventEstimate estimate = new RestartEstimator(config, 0).estimate(runTime, replications, 1);
+        ConfidenceInterval restart = estimate.getRestart();
+        ConfidenceInterval crude = estimate.getCrude();
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                РЕДКИЕ СОБЫТИЯ (RESTART)");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ %d приборов, %d мест в буфере, %d прогонов по t = %.0f%n",
+                workers, bufferCapacity, replications, runTime);
+        System.out.printf("║ Коэффициенты расщепления по уровням: %s%n", Arrays.toString(estimate.getSplits()));
+        System.out.printf("║ P_отк(И1), RESTART:  %.3e ± %.3e (%d событий)%n",
+                restart.getMean(), restart.getHalfWidth(), estimate.getEvents());
+        System.out.printf("║ P_отк(И1), без расщепления: %.3e ± %.3e (%d событий)%n",
+                crude.getMean(), crude.getHalfWidth(), estimate.getCrudeEvents());
+        if (crude.getHalfWidth() > 0 && restart.getHalfWidth() > 0) {
+            double gain = crude.getHalfWidth() * crude.getHalfWidth() * estimate.getCrudeEvents()
+                    / (restart.getHalfWidth() * restart.getHalfWidth() * estimate.getEvents());
+            System.out.printf("║ Выигрыш при равном числе событий: в %.1f раз%n", gain);
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * Runs the network with the sequential reference engine and the parallel one and checks that
+     * they agree.
+     */
+    private static void network(NetworkConfig config, int threads, double simulationTime) {
+        long started = System.nanoTime();
+        NetworkResult reference = new SequentialNetworkEngine().run(config, 1, simulationTime);
+        long sequentialNanos = System.nanoTime() - started;
+
+        ParallelNetworkEngine engine = new ParallelNetworkEngine(threads);
+        started = System.nanoTime();
+        NetworkResult result = engine.run(config, 1, simulationTime);
+        long parallelNanos = System.nanoTime() - started;
+
+        System.out.println("\n╔══════════════════════════════════════════════════════════════");
+        System.out.println("║                СЕТЬ ОБСЛУЖИВАНИЯ");
+        System.out.println("╠══════════════════════════════════════════════════════════════");
+        System.out.printf("║ Станций: %d, моделирование до t = %.0f, событий: %d%n",
+                config.getNumStations(), simulationTime, result.getEvents());
+        System.out.printf("║ Последовательно: %.0f мс; параллельно (%d потоков, %d окон): %.0f мс%n",
+                sequentialNanos / 1e6, threads, engine.getWindows(), parallelNanos / 1e6);
+        System.out.printf("║ Результаты движков совпадают: %s%n", result.matches(reference) ? "да" : "НЕТ");
+        System.out.println("║");
+        for (int c = 0; c < result.getNumClasses(); c++) {
+            System.out.printf("║  Класс %d: поступило %d, вышло %d, потеряно %d (P_пот = %.4f), время в сети %.3f%n",
+                    c + 1, result.getGenerated()[c], result.getExited()[c], result.getLost()[c],
+                    result.getLossProbability(c), result.getMeanSojourn()[c]);
+        }
+        if (config.getNumStations() <= 10) {
+            System.out.println("║");
+            for (int s = 0; s < config.getNumStations(); s++) {
+                System.out.printf("║  %-10s: поступило %d, обслужено %d, загрузка %.3f%n", result.getStationNames()[s],
+                        result.getArrivals()[s], result.getCompletions()[s], result.getUtilisation()[s]);
+            }
+        }
+        System.out.println("╚══════════════════════════════════════════════════════════════");
+    }
+
+    private static void start(boolean needPrint, double simulationTime, boolean auto, int numGenerators, int numWorkers,
+                              int bufferCapacity, List<Double> genIntervals, double maxProcessingTime) {
+        SimulationConfig config = SimulationConfig.builder()
+                .numWorkers(numWorkers)
+                .bufferCapacity(bufferCapacity)
+                .genIntervals(genIntervals.subList(0, numGenerators))
+                .maxProcessingTime(maxProcessingTime)
+                .simulationTime(simulationTime)
+                .build();
 
-        Simulator simulator = new Simulator(generators, workers, buffer, auto, needPrint);
+        Simulator simulator = Simulator.create(config, new SplittableRandom(), auto, needPrint);
 
         simulator.runSimulation(simulationTime);
     }
@@ -0,0 +1,35 @@
+package uni.architect.SystemArchitect;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Stopping rule of the headless mode: the run ends once the confidence interval of every source's
+ * decline probability is narrow enough, either relative to the estimate or in absolute terms
+ * (the latter matters for sources that are almost never declined).
+ */
+@Getter
+@Builder(toBuilder = true)
+public class PrecisionTarget {
+    @Builder.Default
+    private double relativeHalfWidth = 0.05;
+    @Builder.Default
+    private double absoluteHalfWidth = 1e-5;
+    @Builder.Default
+    private double confidenceLevel = 0.95;
+    // requests per base batch of the batch-means estimator
+    @Builder.Default
+    private long batchRequests = 10_000;
+    @Builder.Default
+    private int maxBatches = 64;
+    @Builder.Default
+    private int minBatches = 20;
+    @Builder.Default
+    private long maxEvents = Long.MAX_VALUE;
+    @Builder.Default
+    private long progressIntervalMillis = 5_000;
+
+    public boolean isReached(double mean, double halfWidth) {
+        return halfWidth <= absoluteHalfWidth || halfWidth <= relativeHalfWidth * mean;
+    }
+}
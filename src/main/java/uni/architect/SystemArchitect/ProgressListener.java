@@ -0,0 +1,20 @@
+package uni.architect.SystemArchitect;
+
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+
+@FunctionalInterface
+public interface ProgressListener {
+    void onProgress(long events, double eventsPerSecond, double simulatedTime, ConfidenceInterval[] declineProbability);
+
+    static ProgressListener console() {
+        return (events, eventsPerSecond, simulatedTime, declineProbability) -> {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("[%,d событий, %,.0f соб/сек, t = %.0f]", events, eventsPerSecond, simulatedTime));
+            for (int i = 0; i < declineProbability.length; i++) {
+                sb.append(String.format(" И%d: %.3e ± %.1e", i + 1,
+                        declineProbability[i].getMean(), declineProbability[i].getHalfWidth()));
+            }
+            System.out.println(sb);
+        };
+    }
+}
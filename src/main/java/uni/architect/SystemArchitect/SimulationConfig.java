@@ -0,0 +1,106 @@
+package uni.architect.SystemArchitect;
+
+import lombok.Builder;
+import lombok.Getter;
+import uni.architect.SystemArchitect.arrival.RateFunction;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.BatchSize;
+import uni.architect.SystemArchitect.distribution.DeterministicDistribution;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+import uni.architect.SystemArchitect.workload.WorkloadLog;
+
+import java.util.List;
+
+@Getter
+@Builder(toBuilder = true)
+public class SimulationConfig {
+    private int numWorkers;
+    private int bufferCapacity;
+    private List<Double> genIntervals;
+    private double maxProcessingTime;
+    // negative value means "stop after a fixed number of requests"
+    @Builder.Default
+    private double simulationTime = -1;
+    @Builder.Default
+    private WorkerSelection workerSelection = WorkerSelection.ROUND_ROBIN;
+    // requests per MSER-5 warm-up observation, 0 disables transient truncation
+    @Builder.Default
+    private int warmupObservationRequests = 0;
+    // shapes of the inter-arrival times per source and of the service time, null means deterministic
+    // arrivals and exponential service; the means are rescaled to genIntervals and maxProcessingTime
+    private List<Distribution> arrivalDistributions;
+    private Distribution serviceDistribution;
+    // service times are drawn per request from the source's own stream instead of per worker,
+    // so configurations run with the same seed see the same workload
+    @Builder.Default
+    private boolean commonRandomNumbers = false;
+    // production log replacing the arrival distributions; the caller opens and closes it
+    private WorkloadLog workload;
+    // relative intensity over time multiplying the base rate 1 / genInterval of every source, which
+    // makes the arrivals a non-homogeneous Poisson process; null keeps the arrival distributions
+    private RateFunction arrivalRate;
+    // requests per arrival for every source, genIntervals then separate arrivals, not requests;
+    // null or a null element means single requests
+    private List<BatchSize> batchSizes;
+    // likelihood-ratio window of the derivative estimators in time units, 0 disables sensitivities
+    @Builder.Default
+    private double sensitivityHorizon = 0;
+
+    public int getNumGenerators() {
+        return genIntervals.size();
+    }
+
+    public Distribution getArrivalDistribution(int source) {
+        if (arrivalDistributions == null) {
+            return new DeterministicDistribution(genIntervals.get(source));
+        }
+        return arrivalDistributions.get(source).withMean(genIntervals.get(source));
+    }
+
+    public BatchSize getBatchSize(int source) {
+        return batchSizes == null ? null : batchSizes.get(source);
+    }
+
+    /**
+     * Mean number of requests per time unit a source sends over {@code [0, time]}, counting the rate
+     * function and the batch sizes; a non-positive time gives the long-run average.
+     */
+    public double getRequestRate(int source, double time) {
+        double rate = 1.0 / getArrivalDistribution(source).getMean();
+        if (arrivalRate != null) {
+            rate *= arrivalRate.meanRate(time);
+        }
+        BatchSize batchSize = getBatchSize(source);
+        return batchSize == null ? rate : rate * batchSize.getMean();
+    }
+
+    /**
+     * Largest mean number of requests per time unit a source ever sends, at the peak of the rate
+     * function.
+     */
+    public double getPeakRequestRate(int source) {
+        double rate = 1.0 / getArrivalDistribution(source).getMean();
+        if (arrivalRate != null) {
+            rate *= arrivalRate.maxRate(0, arrivalRate.getHorizon());
+        }
+        BatchSize batchSize = getBatchSize(source);
+        return batchSize == null ? rate : rate * batchSize.getMean();
+    }
+
+    public Distribution getServiceDistribution() {
+        if (serviceDistribution == null) {
+            return new ExponentialDistribution(maxProcessingTime);
+        }
+        return serviceDistribution.withMean(maxProcessingTime);
+    }
+
+    public static SimulationConfig standard() {
+        return SimulationConfig.builder()
+                .numWorkers(7)
+                .bufferCapacity(10)
+                .genIntervals(List.of(2.0, 1.0, 0.5))
+                .maxProcessingTime(2)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package uni.architect.SystemArchitect;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.sensitivity.Sensitivity;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+import uni.architect.SystemArchitect.stats.QueueStatistics;
+
+@Getter
+@AllArgsConstructor
+public class SimulationResult {
+    private double simulationTime;
+    private long requestCount;
+    private long declinedCount;
+    private double kpd;
+    private long[] declinedBySource;
+    private long eventCount;
+    // batch-means intervals of the headless mode, null for fixed-length runs
+    private ConfidenceInterval[] declineIntervals;
+    private QueueStatistics statistics;
+    // start of the observation window after the detected warm-up, 0 when nothing was truncated
+    private double warmupTime;
+    // derivatives with respect to the configuration, null unless sensitivityHorizon is set
+    private Sensitivity sensitivity;
+
+    public double getObservedTime() {
+        return simulationTime - warmupTime;
+    }
+
+    public int getNumSources() {
+        return declinedBySource.length;
+    }
+
+    public double getDeclineProbability(int source) {
+        return requestCount == 0 ? 0.0 : (double) declinedBySource[source] / requestCount;
+    }
+}
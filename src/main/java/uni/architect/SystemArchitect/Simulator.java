@@ -1,126 +1,860 @@
 package uni.architect.SystemArchitect;
 
-import uni.architect.SystemArchitect.model.Buffer;
+import uni.architect.SystemArchitect.arrival.ThinningArrivals;
+import uni.architect.SystemArchitect.calendar.EventScheduler;
+import uni.architect.SystemArchitect.calendar.HeapEventScheduler;
+import uni.architect.SystemArchitect.dispatch.RoundRobinSelector;
+import uni.architect.SystemArchitect.dispatch.WorkerSelector;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+import uni.architect.SystemArchitect.model.PriorityRingBuffer;
+import uni.architect.SystemArchitect.model.RequestBuffer;
 import uni.architect.SystemArchitect.model.Event;
 import uni.architect.SystemArchitect.model.Generator;
 import uni.architect.SystemArchitect.model.Worker;
 import uni.architect.SystemArchitect.model.Request;
-
+import uni.architect.SystemArchitect.monitoring.BufferEvictionEvent;
+import uni.architect.SystemArchitect.monitoring.EngineMetrics;
+import uni.architect.SystemArchitect.monitoring.SimulationBatchEvent;
+import uni.architect.SystemArchitect.sensitivity.GradientEstimator;
+import uni.architect.SystemArchitect.stats.BatchMeans;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+import uni.architect.SystemArchitect.stats.LogHistogram;
+import uni.architect.SystemArchitect.stats.MserWarmupDetector;
+import uni.architect.SystemArchitect.stats.QueueStatistics;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+import uni.architect.SystemArchitect.trace.TraceWriter;
+import uni.architect.SystemArchitect.workload.ArrivalCursor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 
 public class Simulator {
-    private final Scanner scanner = new Scanner(System.in);
+    // bump whenever a change alters the results of a configuration and seed; keys the experiment cache
+    public static final int ENGINE_VERSION = 3;
+    private static final long MAX_REQUESTS_WITHOUT_TIME_LIMIT = 1000;
+    private static final int WARMUP_MAX_GROUPS = 256;
+    private static final int WARMUP_MIN_GROUPS = 10;
+
+    private Scanner scanner;
 
     private final List<Generator> generators;
     private final List<Worker> workers;
-    private final Buffer buffer;
+    private final RequestBuffer buffer;
 
     private double currentTime = 0.0;
-    private int requestCounter = 0;
-    private int declinedRequests = 0;
-    private int workerPointer = 0;
+    private long requestCounter = 0;
+    private long eventCounter = 0;
+    private long declinedRequests = 0;
+    private int busyWorkers = 0;
     private boolean auto = true;
     private boolean needPrint = true;
+    private boolean started = false;
+    private SlaTargets sla = SlaTargets.standard();
+    private TraceWriter trace = null;
+    private EngineMetrics metrics = null;
+    private GradientEstimator sensitivity = null;
+    private SimulationBatchEvent batchEvent;
+    private long batchStartNanos;
+    private long eventsAtBatchStart;
 
     // Track the current request for each event
     private Request currentRequest = null;
     private int affectedWorker = -1;
+    // scratch space of batch arrivals
+    private Request[] batch = new Request[0];
+    private Request[] declinedBatch = new Request[0];
+
+    private final EventScheduler eventQueue;
+    private final WorkerSelector workerSelector;
+    private final long[] declineTypeCounter;
+    private final QueueStatistics statistics;
+
+    // transient truncation, inactive when warmup is null
+    private MserWarmupDetector warmup = null;
+    private long warmupObservationRequests;
+    private long nextWarmupObservation;
+    private double observationStartTime;
+    private double busyAreaAtObservationStart;
+    private final long[] declinedAtObservationStart;
+    private double statsStartTime = 0.0;
+    // work done by each worker before statsStartTime; totalWorkTime itself keeps counting, since
+    // LEAST_TOTAL_WORK dispatches by it and a measurement must not change the trajectory
+    private final double[] workAtStatsStart;
+
+    public Simulator(List<Generator> generators, List<Worker> workers, RequestBuffer buffer, boolean auto, boolean needPrint) {
+        this(generators, workers, buffer, auto, needPrint, new HeapEventScheduler(generators.size() + workers.size() + 2),
+                new RoundRobinSelector(workers.size()));
+    }
 
-    private final PriorityQueue<Event> eventQueue = new PriorityQueue<>();
-    private final Map<Integer, Integer> declineTypeCounter = new HashMap<>();
-
-    public Simulator(List<Generator> generators, List<Worker> workers, Buffer buffer, boolean auto, boolean needPrint) {
+    public Simulator(List<Generator> generators, List<Worker> workers, RequestBuffer buffer, boolean auto, boolean needPrint,
+                     EventScheduler eventQueue, WorkerSelector workerSelector) {
         this.generators = generators;
         this.workers = workers;
         this.buffer = buffer;
         this.auto = auto;
         this.needPrint = needPrint;
-
-        generators.forEach(gen -> declineTypeCounter.put(gen.getNumber(), 0));
+        this.eventQueue = eventQueue;
+        this.workerSelector = workerSelector;
+        this.declineTypeCounter = new long[generators.size()];
+        this.statistics = new QueueStatistics(generators.size());
+        this.declinedAtObservationStart = new long[generators.size()];
+        this.workAtStatsStart = new double[workers.size()];
     }
 
-    private boolean chooseWorker() {
-        int tries = 0;
-        while (workers.get(workerPointer).isBusy()) {
-            tries++;
-            workerPointer = (workerPointer + 1) % workers.size();
-            if (tries >= workers.size()) {
-                return false;
+    public static Simulator create(SimulationConfig config, RandomGenerator rand, boolean auto, boolean needPrint) {
+        if (config.getWorkload() != null && config.getWorkload().getNumSources() > config.getNumGenerators()) {
+            throw new IllegalArgumentException("Workload log has " + config.getWorkload().getNumSources()
+                    + " sources, the config " + config.getNumGenerators());
+        }
+        Distribution serviceTime = config.getServiceDistribution();
+        List<Generator> generators = new ArrayList<>(config.getNumGenerators());
+        ArrivalCursor[] workload = config.getWorkload() != null
+                ? config.getWorkload().cursors(config.getNumGenerators()) : null;
+        for (int i = 0; i < config.getNumGenerators(); i++) {
+            Generator generator = new Generator(i, config.getArrivalDistribution(i), substream(rand));
+            if (config.isCommonRandomNumbers()) {
+                generator.setServiceTime(serviceTime);
+                generator.setServiceRand(substream(rand));
             }
+            if (workload != null) {
+                generator.followWorkload(workload[i]);
+            } else if (config.getArrivalRate() != null) {
+                generator.followRate(new ThinningArrivals(config.getArrivalRate(), 1 / config.getGenIntervals().get(i)));
+            }
+            generator.setBatchSize(config.getBatchSize(i));
+            generators.add(generator);
         }
-        return true;
+
+        List<Worker> workers = new ArrayList<>(config.getNumWorkers());
+        for (int i = 0; i < config.getNumWorkers(); i++) {
+            workers.add(new Worker(i, false, 0.0, serviceTime, null, 0, substream(rand)));
+        }
+
+        RequestBuffer buffer = new PriorityRingBuffer(config.getBufferCapacity(), config.getNumGenerators());
+
+        Simulator simulator = new Simulator(generators, workers, buffer, auto, needPrint,
+                new HeapEventScheduler(generators.size() + workers.size() + 2),
+                config.getWorkerSelection().create(workers));
+        if (config.getWarmupObservationRequests() > 0) {
+            simulator.setWarmupDetection(config.getWarmupObservationRequests());
+        }
+        if (config.getSensitivityHorizon() > 0) {
+            simulator.sensitivity = new GradientEstimator(config, config.getSensitivityHorizon());
+        }
+        return simulator;
+    }
+
+    /**
+     * Every generator and worker draws from its own stream split off the replication's generator, so
+     * changing one distribution does not shift the random numbers seen by the others.
+     */
+    private static RandomGenerator substream(RandomGenerator rand) {
+        return rand instanceof RandomGenerator.SplittableGenerator splittable ? splittable.split() : rand;
+    }
+
+    public void setSla(SlaTargets sla) {
+        this.sla = sla;
+    }
+
+    /**
+     * Records every processed event into the given binary trace; the caller closes the writer.
+     */
+    public void setTrace(TraceWriter trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Publishes progress into {@code metrics} every {@link SimulationBatchEvent#BATCH_EVENTS} events
+     * of {@link #simulate(double)} and {@link #simulateHeadless(PrecisionTarget, ProgressListener)}.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        if (metrics != null && metrics.getNumSources() != generators.size()) {
+            throw new IllegalArgumentException("Metrics have " + metrics.getNumSources()
+                    + " sources, the simulator " + generators.size());
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * Enables MSER-5 warm-up detection: every {@code observationRequests} generated requests the
+     * utilisation and per-source decline fractions of that stretch are fed to the detector, and once
+     * it reports the end of the transient all accumulated counters and statistics are restarted.
+     * The cut is made at the detection point, see {@link MserWarmupDetector}; with a request-limited
+     * run the limit counts from there.
+     */
+    public void setWarmupDetection(int observationRequests) {
+        this.warmup = new MserWarmupDetector(generators.size() + 1, WARMUP_MAX_GROUPS, WARMUP_MIN_GROUPS);
+        this.warmupObservationRequests = observationRequests;
+        this.nextWarmupObservation = requestCounter + observationRequests;
+        this.observationStartTime = currentTime;
+        this.busyAreaAtObservationStart = statistics.getBusyWorkers().getArea(currentTime);
+        System.arraycopy(declineTypeCounter, 0, declinedAtObservationStart, 0, declineTypeCounter.length);
+    }
+
+    /**
+     * Captures the complete state of the run: calendar, buffer, workers, generators, random streams,
+     * counters and statistics. Every random stream has to be a {@link SplitMix64}, as in simulators
+     * created from one.
+     */
+    public SimulatorSnapshot snapshot() {
+        ByteArrayOutputStream bytes = new SimulatorSnapshot.UnsyncByteArrayOutputStream(16384);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeState(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SimulatorSnapshot(bytes.toByteArray());
+    }
+
+    /**
+     * Clones the running simulator; the child continues exactly like this one would unless the
+     * config changes the dispatch policy, buffer capacity or distributions. Take one
+     * {@link #snapshot()} and restore it repeatedly to create many children.
+     */
+    public Simulator fork(SimulationConfig config) {
+        return snapshot().restore(config);
+    }
+
+    /**
+     * Same as {@link #fork(SimulationConfig)} but with fresh random streams derived from {@code seed}.
+     */
+    public Simulator fork(SimulationConfig config, long seed) {
+        return snapshot().restore(config, seed);
     }
 
     public void runSimulation(double simulationTime) {
+        printOptimisationResults(simulate(simulationTime));
+    }
+
+    public SimulationResult simulate(double simulationTime) {
         if (simulationTime >= 0) {
-            eventQueue.add(new Event(Event.EventType.END, simulationTime, -1));
+            eventQueue.schedule(Event.EventType.END, simulationTime, -1);
         }
 
         if (needPrint) {
-            printTableHeader();
+            EventTable.printHeader();
         }
 
-        Event startSimulation = new Event(Event.EventType.START, 0.0, -1);
-        eventQueue.add(startSimulation);
-        if (needPrint) {
-            printStartRow();
+        if (!started) {
+            eventQueue.schedule(Event.EventType.START, 0.0, -1);
+            if (needPrint) {
+                printStartRow();
+            }
         }
 
-        for (Generator generator : generators) {
-            eventQueue.add(new Event(Event.EventType.GENERATION, generator.getNextGenTime(), generator.getNumber()));
-        }
+        scheduleGenerations();
+        startBatch();
 
         while (!eventQueue.isEmpty()) {
-            Event event = eventQueue.poll();
-            currentTime = event.getTime();
-            if ((simulationTime >= 0 && currentTime >= simulationTime)
-                    ||  (simulationTime < 0 && requestCounter >= 1000)) {
+            // the stopping event stays in the calendar, so the run can be resumed or snapshotted
+            if (simulationTime >= 0 && eventQueue.peekTime() >= simulationTime) {
+                currentTime = simulationTime;
+                if (eventQueue.peekType() == Event.EventType.END) {
+                    eventQueue.poll();
+                }
+                break;
+            }
+            if (simulationTime < 0 && requestCounter >= MAX_REQUESTS_WITHOUT_TIME_LIMIT) {
+                currentTime = eventQueue.peekTime();
                 break;
             }
+            eventQueue.poll();
+            Event.EventType eventType = eventQueue.getCurrentType();
+            int objectNumber = eventQueue.getCurrentObjectNumber();
+            currentTime = eventQueue.getCurrentTime();
+            if (eventType == Event.EventType.END) {
+                // left over from an earlier, shorter run
+                continue;
+            }
+            eventCounter++;
 
-            switch (event.getType()) {
-                case Event.EventType.GENERATION -> handleGenerationEvent(event.getObjectNumber());
-                case Event.EventType.COMPLETION -> handleCompletionEvent(event.getObjectNumber());
+            switch (eventType) {
+                case Event.EventType.GENERATION -> handleGenerationEvent(objectNumber);
+                case Event.EventType.COMPLETION -> handleCompletionEvent(objectNumber);
+            }
+            if (trace != null) {
+                traceEvent(eventType, objectNumber);
+            }
+            if ((eventCounter & (SimulationBatchEvent.BATCH_EVENTS - 1)) == 0) {
+                endBatch();
+                startBatch();
             }
 
             if (needPrint) {
-                printEventRow(event);
+                printEventRow(eventType, objectNumber);
                 if (!auto) {
+                    if (scanner == null) {
+                        scanner = new Scanner(System.in);
+                    }
                     scanner.nextLine();  // add pause before each step
                 }
             }
         }
 
+        endBatch();
+
         if (needPrint) {
             printEndRow();
-            printTableFooter();
+            EventTable.printFooter();
+        }
+        return buildResult(null);
+    }
+
+    public void runHeadless(PrecisionTarget target, ProgressListener listener) {
+        printOptimisationResults(simulateHeadless(target, listener));
+    }
+
+    /**
+     * Runs without any table output until every source's decline probability is estimated with the
+     * requested precision (batch means over {@code target.batchRequests} requests) or the event
+     * budget is spent.
+     */
+    public SimulationResult simulateHeadless(PrecisionTarget target, ProgressListener listener) {
+        int numSources = generators.size();
+        BatchMeans[] declineEstimates = new BatchMeans[numSources];
+        for (int i = 0; i < numSources; i++) {
+            declineEstimates[i] = new BatchMeans(target.getMaxBatches());
+        }
+        long[] declinedAtBatchStart = new long[numSources];
+        long batchRequests = target.getBatchRequests();
+        long nextBatchEnd = requestCounter + batchRequests;
+        double batchesStartTime = statsStartTime;
+
+        long lastReportNanos = System.nanoTime();
+        long eventsAtLastReport = eventCounter;
+        long progressIntervalNanos = target.getProgressIntervalMillis() * 1_000_000;
+
+        scheduleGenerations();
+        startBatch();
+
+        while (eventCounter < target.getMaxEvents() && eventQueue.poll()) {
+            currentTime = eventQueue.getCurrentTime();
+            eventCounter++;
+            if (eventQueue.getCurrentType() == Event.EventType.GENERATION) {
+                handleGenerationEvent(eventQueue.getCurrentObjectNumber());
+            } else {
+                handleCompletionEvent(eventQueue.getCurrentObjectNumber());
+            }
+            if (trace != null) {
+                traceEvent(eventQueue.getCurrentType(), eventQueue.getCurrentObjectNumber());
+            }
+            if ((eventCounter & (SimulationBatchEvent.BATCH_EVENTS - 1)) == 0) {
+                endBatch();
+                startBatch();
+            }
+
+            if (statsStartTime != batchesStartTime) {
+                // the warm-up has just been cut off, batches collected so far are biased
+                batchesStartTime = statsStartTime;
+                for (int i = 0; i < numSources; i++) {
+                    declineEstimates[i].reset();
+                }
+                Arrays.fill(declinedAtBatchStart, 0);
+                nextBatchEnd = requestCounter + batchRequests;
+            }
+            if (requestCounter < nextBatchEnd) {
+                continue;
+            }
+            nextBatchEnd += batchRequests;
+            for (int i = 0; i < numSources; i++) {
+                declineEstimates[i].add((double) (declineTypeCounter[i] - declinedAtBatchStart[i]) / batchRequests);
+                declinedAtBatchStart[i] = declineTypeCounter[i];
+            }
+
+            if (precisionReached(declineEstimates, target)) {
+                break;
+            }
+
+            long now = System.nanoTime();
+            if (listener != null && now - lastReportNanos >= progressIntervalNanos) {
+                double eventsPerSecond = (eventCounter - eventsAtLastReport) * 1e9 / (now - lastReportNanos);
+                listener.onProgress(eventCounter, eventsPerSecond, currentTime,
+                        intervals(declineEstimates, target.getConfidenceLevel()));
+                lastReportNanos = now;
+                eventsAtLastReport = eventCounter;
+            }
+        }
+
+        endBatch();
+        return buildResult(intervals(declineEstimates, target.getConfidenceLevel()));
+    }
+
+    /**
+     * Processes the next event of the calendar, for drivers that steer a run event by event such as
+     * importance splitting.
+     *
+     * @return false if there are no events left
+     */
+    public boolean step() {
+        scheduleGenerations();
+        if (!eventQueue.poll()) {
+            return false;
+        }
+        currentTime = eventQueue.getCurrentTime();
+        switch (eventQueue.getCurrentType()) {
+            case Event.EventType.GENERATION -> handleGenerationEvent(eventQueue.getCurrentObjectNumber());
+            case Event.EventType.COMPLETION -> handleCompletionEvent(eventQueue.getCurrentObjectNumber());
+            default -> {
+                return true;
+            }
+        }
+        eventCounter++;
+        return true;
+    }
+
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    public double getNextEventTime() {
+        scheduleGenerations();
+        return eventQueue.peekTime();
+    }
+
+    public long getEventCount() {
+        return eventCounter;
+    }
+
+    public int getBufferCount(int source) {
+        return buffer.getCount(source);
+    }
+
+    public long getDeclined(int source) {
+        return declineTypeCounter[source];
+    }
+
+    private void startBatch() {
+        batchStartNanos = System.nanoTime();
+        eventsAtBatchStart = eventCounter;
+        batchEvent = new SimulationBatchEvent();
+        batchEvent.begin();
+    }
+
+    private void endBatch() {
+        batchEvent.end();
+        boolean recorded = batchEvent.shouldCommit();
+        if (metrics == null && !recorded) {
+            return;
+        }
+        long elapsed = System.nanoTime() - batchStartNanos;
+        double eventsPerSecond = elapsed > 0 ? (eventCounter - eventsAtBatchStart) * 1e9 / elapsed : 0.0;
+        if (metrics != null) {
+            metrics.publish(eventCounter, requestCounter, currentTime, eventsPerSecond,
+                    eventQueue.size(), buffer.getCurrentSize(), busyWorkers, declineTypeCounter);
+        }
+        if (recorded) {
+            batchEvent.events = eventCounter;
+            batchEvent.eventsPerSecond = eventsPerSecond;
+            batchEvent.simulatedTime = currentTime;
+            batchEvent.calendarSize = eventQueue.size();
+            batchEvent.bufferSize = buffer.getCurrentSize();
+            batchEvent.busyWorkers = busyWorkers;
+            batchEvent.requests = requestCounter;
+            batchEvent.declined = declinedRequests;
+            batchEvent.commit();
+        }
+    }
+
+    private static boolean precisionReached(BatchMeans[] estimates, PrecisionTarget target) {
+        for (BatchMeans estimate : estimates) {
+            if (estimate.getCount() < target.getMinBatches()) {
+                return false;
+            }
+            ConfidenceInterval interval = estimate.confidenceInterval(target.getConfidenceLevel());
+            if (!target.isReached(interval.getMean(), interval.getHalfWidth())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ConfidenceInterval[] intervals(BatchMeans[] estimates, double level) {
+        ConfidenceInterval[] intervals = new ConfidenceInterval[estimates.length];
+        for (int i = 0; i < estimates.length; i++) {
+            intervals[i] = estimates[i].confidenceInterval(level);
+        }
+        return intervals;
+    }
+
+    private void traceEvent(Event.EventType type, int objectNumber) {
+        trace.write(type, objectNumber, currentTime, currentRequest, affectedWorker, requestCounter, declinedRequests,
+                buffer, workers);
+    }
+
+    // the first run of the simulator seeds the calendar, later runs continue from its contents
+    private void scheduleGenerations() {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (Generator generator : generators) {
+            if (generator.getNextGenTime() != Double.POSITIVE_INFINITY) {
+                eventQueue.schedule(Event.EventType.GENERATION, generator.getNextGenTime(), generator.getNumber());
+            }
+        }
+    }
+
+    private void writeState(DataOutput out) throws IOException {
+        out.writeInt(SimulatorSnapshot.MAGIC);
+        out.writeInt(SimulatorSnapshot.VERSION);
+        out.writeDouble(currentTime);
+        out.writeInt(generators.size());
+        out.writeInt(workers.size());
+        out.writeBoolean(started);
+        out.writeLong(requestCounter);
+        out.writeLong(eventCounter);
+        out.writeLong(declinedRequests);
+        out.writeDouble(statsStartTime);
+        for (long declined : declineTypeCounter) {
+            out.writeLong(declined);
+        }
+
+        for (Generator generator : generators) {
+            out.writeLong(generator.getGenCount());
+            out.writeDouble(generator.getNextGenTime());
+            writeStream(out, generator.getRand());
+            writeStream(out, generator.getServiceRand());
+            out.writeLong(generator.getArrivals() != null ? generator.getArrivals().getRecordPosition() : -1);
+        }
+
+        for (Worker worker : workers) {
+            out.writeBoolean(worker.isBusy());
+            out.writeDouble(worker.getCompletionTime());
+            out.writeDouble(worker.getTotalWorkTime());
+            out.writeDouble(workAtStatsStart[worker.getNumber()]);
+            writeStream(out, worker.getRand());
+            if (worker.isBusy()) {
+                writeRequest(out, worker.getCurRequest());
+            }
+        }
+
+        if (!(buffer instanceof PriorityRingBuffer ring)) {
+            throw new IllegalStateException("Snapshots need a PriorityRingBuffer, got " + buffer.getClass().getSimpleName());
+        }
+        out.writeInt(ring.getCurrentPriorityPackage());
+        for (int source = 0; source < ring.getNumSources(); source++) {
+            out.writeInt(ring.getCount(source));
+            for (int i = 0; i < ring.getCount(source); i++) {
+                writeRequest(out, ring.getRequest(source, i));
+            }
+        }
+
+        out.writeUTF(workerSelector.getClass().getName());
+        int[] selectorState = workerSelector.saveState();
+        out.writeInt(selectorState.length);
+        for (int value : selectorState) {
+            out.writeInt(value);
+        }
+
+        // START and END belong to the run that was going on, not to the model state
+        List<double[]> events = new ArrayList<>(eventQueue.size());
+        eventQueue.forEachInOrder((type, time, objectNumber) -> {
+            if (type == Event.EventType.GENERATION || type == Event.EventType.COMPLETION) {
+                events.add(new double[]{type.ordinal(), time, objectNumber});
+            }
+        });
+        out.writeInt(events.size());
+        for (double[] event : events) {
+            out.writeByte((int) event[0]);
+            out.writeDouble(event[1]);
+            out.writeInt((int) event[2]);
+        }
+
+        statistics.writeTo(out);
+    }
+
+    /**
+     * Overwrites the state of a freshly created simulator with a snapshot.
+     *
+     * @param keepStreams false to keep the random streams this simulator was created with
+     */
+    void readState(DataInput in, boolean keepStreams) throws IOException {
+        in.readInt();
+        in.readInt();
+        currentTime = in.readDouble();
+        int numSources = in.readInt();
+        int numWorkers = in.readInt();
+        if (numSources != generators.size() || numWorkers != workers.size()) {
+            throw new IllegalArgumentException("Snapshot has " + numSources + " sources and " + numWorkers
+                    + " workers, the config " + generators.size() + " and " + workers.size());
+        }
+        started = in.readBoolean();
+        requestCounter = in.readLong();
+        eventCounter = in.readLong();
+        declinedRequests = in.readLong();
+        statsStartTime = in.readDouble();
+        for (int i = 0; i < numSources; i++) {
+            declineTypeCounter[i] = in.readLong();
+        }
+
+        for (Generator generator : generators) {
+            generator.setGenCount(in.readLong());
+            generator.setNextGenTime(in.readDouble());
+            SplitMix64 arrivals = readStream(in);
+            SplitMix64 services = readStream(in);
+            long logPosition = in.readLong();
+            // a snapshot of a trace-driven run restored without the log continues with the distributions
+            if (logPosition >= 0 && generator.getArrivals() != null) {
+                generator.getArrivals().seek(logPosition);
+            }
+            if (keepStreams) {
+                generator.setRand(arrivals);
+                if (generator.getServiceRand() != null && services != null) {
+                    generator.setServiceRand(services);
+                }
+            }
+        }
+
+        busyWorkers = 0;
+        for (Worker worker : workers) {
+            boolean busy = in.readBoolean();
+            worker.setBusy(busy);
+            worker.setCompletionTime(in.readDouble());
+            worker.setTotalWorkTime(in.readDouble());
+            workAtStatsStart[worker.getNumber()] = in.readDouble();
+            SplitMix64 stream = readStream(in);
+            if (keepStreams) {
+                worker.setRand(stream);
+            }
+            worker.setCurRequest(busy ? readRequest(in) : null);
+            if (busy) {
+                busyWorkers++;
+            }
+        }
+
+        PriorityRingBuffer ring = (PriorityRingBuffer) buffer;
+        int priorityPackage = in.readInt();
+        long dropped = 0;
+        for (int source = 0; source < numSources; source++) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                // a smaller buffer keeps the oldest requests of the most important sources and
+                // declines the rest, so every request is still served, declined or in the system
+                if (!ring.restoreRequest(readRequest(in))) {
+                    declinedRequests++;
+                    declineTypeCounter[source]++;
+                    dropped++;
+                }
+            }
+        }
+        ring.restoreCurrentPriorityPackage(priorityPackage);
+
+        // rebuild the idle index from the restored workers, keys and order included
+        for (int i = 0; i < numWorkers; i++) {
+            workerSelector.onBusy(i);
+        }
+        for (int i = 0; i < numWorkers; i++) {
+            if (!workers.get(i).isBusy()) {
+                workerSelector.onIdle(i);
+            }
+        }
+        String selectorClass = in.readUTF();
+        int[] selectorState = new int[in.readInt()];
+        for (int i = 0; i < selectorState.length; i++) {
+            selectorState[i] = in.readInt();
         }
-        printOptimisationResults();
+        if (selectorClass.equals(workerSelector.getClass().getName())) {
+            workerSelector.restoreState(selectorState);
+        }
+
+        eventQueue.clear();
+        int events = in.readInt();
+        for (int i = 0; i < events; i++) {
+            Event.EventType type = Event.EventType.values()[in.readByte()];
+            eventQueue.schedule(type, in.readDouble(), in.readInt());
+        }
+
+        statistics.readFrom(in);
+        if (dropped > 0) {
+            statistics.onBufferLengthChange(currentTime, buffer.getCurrentSize());
+        }
+        if (warmup != null) {
+            setWarmupDetection((int) warmupObservationRequests);
+        }
+    }
+
+    private static void writeStream(DataOutput out, RandomGenerator rand) throws IOException {
+        out.writeBoolean(rand != null);
+        if (rand == null) {
+            return;
+        }
+        if (!(rand instanceof SplitMix64 stream)) {
+            throw new IllegalStateException("Snapshots need SplitMix64 random streams, got " + rand.getClass().getSimpleName());
+        }
+        out.writeLong(stream.getSeed());
+        out.writeLong(stream.getGamma());
+    }
+
+    private static SplitMix64 readStream(DataInput in) throws IOException {
+        return in.readBoolean() ? new SplitMix64(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeRequest(DataOutput out, Request request) throws IOException {
+        out.writeInt(request.getGeneratorNumber());
+        out.writeLong(request.getIndex());
+        out.writeDouble(request.getGenerationTime());
+        out.writeDouble(request.getBufferTime());
+        out.writeDouble(request.getServiceStartTime());
+        out.writeDouble(request.getServiceTime());
+    }
+
+    private static Request readRequest(DataInput in) throws IOException {
+        Request request = new Request(in.readInt(), in.readLong());
+        request.setGenerationTime(in.readDouble());
+        request.setBufferTime(in.readDouble());
+        request.setServiceStartTime(in.readDouble());
+        request.setServiceTime(in.readDouble());
+        return request;
     }
 
     private void handleGenerationEvent(int genNumber) {
         Generator generator = generators.get(genNumber);
+        int batchSize = generator.sampleBatchSize();
         Request request = generator.generateRequest(currentTime);
         requestCounter++;
 
         currentRequest = request;
 
-        // schedule next generation
-        eventQueue.add(new Event(Event.EventType.GENERATION, generator.getNextGenTime(), genNumber));
+        // schedule next generation, a trace-driven source stops at the end of its log
+        if (generator.getNextGenTime() != Double.POSITIVE_INFINITY) {
+            eventQueue.schedule(Event.EventType.GENERATION, generator.getNextGenTime(), genNumber);
+        }
 
-        if (chooseWorker()) {
-            Worker worker = workers.get(workerPointer);
-            affectedWorker = worker.getNumber();
-            worker.startProcessing(currentTime, request);
-            eventQueue.add(new Event(Event.EventType.COMPLETION, worker.getCompletionTime(), worker.getNumber()));
+        if (batchSize > 1) {
+            handleBatch(generator, request, batchSize);
         } else {
-            affectedWorker = -1;
-            Request declined = buffer.addRequest(request);
-            if (declined != null) {
-                declinedRequests++;
-                declineTypeCounter.put(declined.getGeneratorNumber(), declineTypeCounter.get(declined.getGeneratorNumber()) + 1);
+            int chosen = workerSelector.select();
+            int declinedSource = -1;
+            if (chosen >= 0) {
+                startService(workers.get(chosen), request);
+            } else {
+                affectedWorker = -1;
+                request.setBufferTime(currentTime);
+                Request declined = buffer.addRequest(request);
+                if (declined != null) {
+                    declinedSource = declined.getGeneratorNumber();
+                    recordDecline(genNumber, declined);
+                }
+                statistics.onBufferLengthChange(currentTime, buffer.getCurrentSize());
+            }
+            if (sensitivity != null) {
+                sensitivity.onGeneration(genNumber, currentTime, generator.getNextGenTime() - currentTime,
+                        declinedSource, chosen,
+                        chosen >= 0 ? workers.get(chosen).getCompletionTime() - currentTime : Double.NaN);
+            }
+        }
+
+        if (warmup != null && requestCounter >= nextWarmupObservation) {
+            observeWarmup();
+        }
+    }
+
+    /**
+     * One arrival of several requests: idle workers take the first ones, the rest enters the buffer
+     * in a single bulk operation. The whole batch costs one calendar event.
+     */
+    private void handleBatch(Generator generator, Request first, int size) {
+        if (batch.length < size) {
+            batch = new Request[Math.max(size, 2 * batch.length)];
+            declinedBatch = new Request[batch.length];
+        }
+        batch[0] = first;
+        for (int i = 1; i < size; i++) {
+            batch[i] = generator.generateBatchMember(currentTime);
+        }
+        requestCounter += size - 1;
+        currentRequest = batch[size - 1];
+        affectedWorker = -1;
+
+        int next = 0;
+        while (next < size) {
+            int chosen = workerSelector.select();
+            if (chosen < 0) {
+                break;
+            }
+            startService(workers.get(chosen), batch[next++]);
+        }
+        if (next < size) {
+            for (int i = next; i < size; i++) {
+                batch[i].setBufferTime(currentTime);
+            }
+            int declinedCount = buffer.addRequests(batch, next, size, declinedBatch);
+            for (int i = 0; i < declinedCount; i++) {
+                recordDecline(generator.getNumber(), declinedBatch[i]);
             }
+            Arrays.fill(declinedBatch, 0, declinedCount, null);
+            statistics.onBufferLengthChange(currentTime, buffer.getCurrentSize());
+        }
+        Arrays.fill(batch, 0, size, null);
+    }
+
+    private void startService(Worker worker, Request request) {
+        workerSelector.onBusy(worker.getNumber());
+        affectedWorker = worker.getNumber();
+        worker.startProcessing(currentTime, request);
+        statistics.onServiceStart(request);
+        statistics.onBusyWorkersChange(currentTime, ++busyWorkers);
+        eventQueue.schedule(Event.EventType.COMPLETION, worker.getCompletionTime(), worker.getNumber());
+    }
+
+    private void recordDecline(int incomingSource, Request declined) {
+        declinedRequests++;
+        declineTypeCounter[declined.getGeneratorNumber()]++;
+        BufferEvictionEvent eviction = new BufferEvictionEvent();
+        if (eviction.isEnabled()) {
+            eviction.incomingSource = incomingSource;
+            eviction.declinedSource = declined.getGeneratorNumber();
+            // the buffer only evicts other sources, so a request of the arriving source was turned away itself
+            eviction.evicted = declined.getGeneratorNumber() != incomingSource;
+            eviction.simulatedTime = currentTime;
+            eviction.commit();
+        }
+    }
+
+    private void observeWarmup() {
+        double busyArea = statistics.getBusyWorkers().getArea(currentTime);
+        double duration = currentTime - observationStartTime;
+        warmup.add(0, duration > 0 ? (busyArea - busyAreaAtObservationStart) / (duration * workers.size()) : 0.0);
+        for (int i = 0; i < declineTypeCounter.length; i++) {
+            warmup.add(i + 1, (double) (declineTypeCounter[i] - declinedAtObservationStart[i]) / warmupObservationRequests);
+            declinedAtObservationStart[i] = declineTypeCounter[i];
+        }
+        observationStartTime = currentTime;
+        busyAreaAtObservationStart = busyArea;
+        nextWarmupObservation += warmupObservationRequests;
+
+        if (warmup.endObservation()) {
+            warmup = null;
+            resetStatistics();
+        }
+    }
+
+    /**
+     * Restarts every accumulator at the current time so that the result covers the steady state only,
+     * e.g. after the detected warm-up or in a forked child. Work done so far is subtracted from the
+     * workers' totals when the kpd is computed, services in progress keep their remaining part.
+     */
+    public void resetStatistics() {
+        requestCounter = 0;
+        declinedRequests = 0;
+        Arrays.fill(declineTypeCounter, 0);
+        for (Worker worker : workers) {
+            // services in progress keep the part that lies after the reset
+            workAtStatsStart[worker.getNumber()] = worker.getTotalWorkTime()
+                    - (worker.isBusy() ? worker.getCompletionTime() - currentTime : 0.0);
+        }
+        statistics.reset(currentTime);
+        statsStartTime = currentTime;
+        if (sensitivity != null) {
+            sensitivity.resetStatistics(workers);
         }
     }
 
@@ -129,41 +863,35 @@ public class Simulator {
         affectedWorker = worker.getNumber();
         currentRequest = worker.getCurRequest();
 
+        if (currentRequest != null) {
+            statistics.onCompletion(currentRequest, currentTime);
+        }
         // stop current processing (if any)
         worker.stopProcessing(currentTime);
 
         Request nextRequest = buffer.getNextRequest();
         if (nextRequest != null) {
             worker.startProcessing(currentTime, nextRequest);
-            eventQueue.add(new Event(Event.EventType.COMPLETION, worker.getCompletionTime(), worker.getNumber()));
+            statistics.onServiceStart(nextRequest);
+            statistics.onBufferLengthChange(currentTime, buffer.getCurrentSize());
+            eventQueue.schedule(Event.EventType.COMPLETION, worker.getCompletionTime(), worker.getNumber());
+            if (sensitivity != null) {
+                sensitivity.onCompletion(workerNumber, currentTime, worker.getCompletionTime() - currentTime);
+            }
+        } else {
+            workerSelector.onIdle(workerNumber);
+            statistics.onBusyWorkersChange(currentTime, --busyWorkers);
         }
     }
 
-    private void printTableHeader() {
-        System.out.println("╔═══════════════════════════════════════════════════════════╗");
-        System.out.println("║     Система массового обслуживания - Симулятор            ║");
-        System.out.println("╚═══════════════════════════════════════════════════════════╝");
-        System.out.println();
-        System.out.println("╔════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════");
-        System.out.println("║                                                  Календарь событий                                                                       ");
-        System.out.println("╠═══════════════╦═══════════╦══════════════╦═══════════════╦═════════════════╦══════════════════════════════════╦════════════════════════════");
-        System.out.println("║   Событие     ║   Время   ║ Число заявок ║ Число отказов ║  Номер заявки   ║    Состояние прибора             ║  Состояние буфера          ");
-        System.out.println("╠═══════════════╬═══════════╬══════════════╬═══════════════╬═════════════════╬══════════════════════════════════╬════════════════════════════");
-    }
-
-    private void printTableFooter() {
-        System.out.println("╚═══════════════╩═══════════╩══════════════╩═══════════════╩═════════════════╩══════════════════════════════════╩════════════════════════════");
-    }
-
-    private void printEventRow(Event event) {
-        String eventType = event.getType() == Event.EventType.GENERATION ? "И" : "П";
-        String eventName = String.format("%s%d", eventType, event.getObjectNumber() + 1);
+    private void printEventRow(Event.EventType type, int objectNumber) {
+        String eventType = type == Event.EventType.GENERATION ? "И" : "П";
+        String eventName = String.format("%s%d", eventType, objectNumber + 1);
 
         String requestNum = currentRequest != null ? currentRequest.getNumber() : "-";
         String workerState = getWorkerState();
 
-        System.out.printf("║ %-13s ║   %6.2f  ║    %5d     ║     %5d     ║  %-14s ║  %-31s ║ %-26s %n",
-                eventName, event.getTime(), requestCounter, declinedRequests,
+        EventTable.printRow(eventName, currentTime, requestCounter, String.valueOf(declinedRequests),
                 requestNum, workerState, buffer.getState());
 
         printSysState();
@@ -182,27 +910,20 @@ public class Simulator {
         });
 
         StringBuilder closestEventTimes = new StringBuilder();
-        eventQueue.forEach(eventQ ->
-                closestEventTimes.append(eventQ.getType() == Event.EventType.GENERATION ? "И" : eventQ.getType() == Event.EventType.COMPLETION ? "П" : "Конец").append(eventQ.getObjectNumber() + 1)
-                        .append(": ").append(String.format("%.2f", eventQ.getTime())).append(" "));
-
-        System.out.println("╠═══════════════╬═══════════╩══════════════╩═══════════════╩═════════════════╩══════════════════════════════════╩════════════════════════════");
-        System.out.println("║ Приборы       ║ " + deviceStates.toString());
-        System.out.println("╠═══════════════╬════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════════");
-        System.out.println("║ События       ║ " + closestEventTimes.toString());
-        System.out.println("╠═══════════════╬═══════════╦══════════════╦═══════════════╦═════════════════╦══════════════════════════════════╦════════════════════════════");
+        eventQueue.forEach((type, time, objectNumber) ->
+                closestEventTimes.append(type == Event.EventType.GENERATION ? "И" : type == Event.EventType.COMPLETION ? "П" : "Конец").append(objectNumber + 1)
+                        .append(": ").append(String.format("%.2f", time)).append(" "));
 
+        EventTable.printSysState(deviceStates.toString(), closestEventTimes.toString());
     }
 
     private void printStartRow() {
-        System.out.printf("║ %-13s ║   %6.2f  ║    %5d     ║     %5s     ║  %-14s ║  %-31s ║ %-26s %n",
-                "Начало мод.", currentTime, requestCounter, "", "", "", "");
+        EventTable.printRow("Начало мод.", currentTime, requestCounter, "", "", "", "");
         printSysState();
     }
 
     private void printEndRow() {
-        System.out.printf("║ %-13s ║   %6.2f  ║    %5d     ║     %5d     ║  %-14s ║  %-31s ║ %-26s %n",
-                "Конец мод.", currentTime, requestCounter, declinedRequests,
+        EventTable.printRow("Конец мод.", currentTime, requestCounter, String.valueOf(declinedRequests),
                 "-", getWorkerState(), buffer.getState());
     }
 
@@ -221,37 +942,77 @@ public class Simulator {
         }
     }
 
-    private void printOptimisationResults() {
+    private SimulationResult buildResult(ConfidenceInterval[] declineIntervals) {
         double allWorkTime = 0;
         for (Worker w: workers) {
-            allWorkTime += w.getTotalWorkTime() - (w.getCompletionTime() - currentTime);
+            allWorkTime += w.getTotalWorkTime() - workAtStatsStart[w.getNumber()];
+            if (w.isBusy()) {
+                // exclude the part of the current service that lies beyond the end of the run
+                allWorkTime -= w.getCompletionTime() - currentTime;
+            }
         }
-        double kpd = allWorkTime/(currentTime * workers.size());
+        double kpd = allWorkTime/((currentTime - statsStartTime) * workers.size());
+
+        return new SimulationResult(currentTime, requestCounter, declinedRequests, kpd, declineTypeCounter.clone(),
+                eventCounter, declineIntervals, statistics, statsStartTime,
+                sensitivity == null ? null : sensitivity.result(workers, currentTime - statsStartTime,
+                        requestCounter, declineTypeCounter));
+    }
+
+    private void printOptimisationResults(SimulationResult result) {
+        double currentTime = result.getSimulationTime();
+        long requestCounter = result.getRequestCount();
+        long declinedRequests = result.getDeclinedCount();
+        double kpd = result.getKpd();
 
         System.out.println("\n╔══════════════════════════════════════════════════════════════");
         System.out.println("║                РЕЗУЛЬТАТЫ");
         System.out.println("╠══════════════════════════════════════════════════════════════");
         System.out.printf("║ Конфигурация системы: %d мест в буфере, %d приборов%n", buffer.getCapacity(), workers.size());
         System.out.printf("║ Общее время моделирования: %.2f сек%n", currentTime);
+        if (result.getWarmupTime() > 0) {
+            System.out.printf("║ Переходный период (MSER-5) отброшен до t = %.2f сек%n", result.getWarmupTime());
+        }
         System.out.printf("║ Всего заявок сгенерировано: %d%n", requestCounter);
         System.out.printf("║ Всего отказов: %d%n", declinedRequests);
-        System.out.printf("║ Коэффициент использования системы: %.3f (требуется >= 0.75)%n", kpd);
+        System.out.printf("║ Коэффициент использования системы: %.3f (%s)%n", kpd, sla.describeKpdTarget());
         System.out.println("║");
         System.out.println("║ Вероятности отказа по источникам:");
-        for (Map.Entry<Integer, Integer> entry : declineTypeCounter.entrySet()) {
-            int sourceNum = entry.getKey();
-            int declined = entry.getValue();
-            double prob = (double) declined / requestCounter;
-            String requirement = "";
-            switch (sourceNum) {
-                case 0 -> requirement = "требуется ≤ 0.005 (0.5%)";
-                case 1 -> requirement = "требуется ≤ 0.02 (2%)";
-                case 2 -> requirement = "требуется ≤ 0.05 (5%)";
-            }
+        for (int sourceNum = 0; sourceNum < result.getNumSources(); sourceNum++) {
+            long declined = result.getDeclinedBySource()[sourceNum];
+            double prob = result.getDeclineProbability(sourceNum);
             System.out.printf("║  Источник И%d: %d отказов, P_отк = %.4f %s%n",
-                    sourceNum + 1, declined, prob, requirement);
+                    sourceNum + 1, declined, prob, sla.describeDeclineTarget(sourceNum));
+            if (result.getDeclineIntervals() != null) {
+                ConfidenceInterval interval = result.getDeclineIntervals()[sourceNum];
+                System.out.printf("║    %.0f%% ДИ: %.6f ± %.6f (%d батчей)%n", interval.getLevel() * 100,
+                        interval.getMean(), interval.getHalfWidth(), interval.getSampleSize());
+            }
         }
+        printQueueStatistics(result.getStatistics(), currentTime);
         System.out.println("╚══════════════════════════════════════════════════════════════");
     }
 
+    private void printQueueStatistics(QueueStatistics stats, double endTime) {
+        System.out.println("║");
+        System.out.println("║ Времена ожидания и пребывания по источникам:");
+        for (int source = 0; source < stats.getNumSources(); source++) {
+            System.out.printf("║  Источник И%d (обслужено %d):%n", source + 1, stats.getSojournTime()[source].getCount());
+            printLatency("ожидание  ", stats.getWaitingTime()[source], stats.getWaitingHistogram()[source]);
+            printLatency("пребывание", stats.getSojournTime()[source], stats.getSojournHistogram()[source]);
+            if (stats.getBufferTime()[source].getCount() > 0) {
+                printLatency("в буфере  ", stats.getBufferTime()[source], stats.getBufferHistogram()[source]);
+            }
+        }
+        System.out.println("║");
+        System.out.printf("║ Средняя длина буфера: %.3f (макс. %.0f)%n",
+                stats.getBufferLength().getMean(endTime), stats.getBufferLength().getMax());
+        System.out.printf("║ Среднее число занятых приборов: %.3f%n", stats.getBusyWorkers().getMean(endTime));
+    }
+
+    private static void printLatency(String name, SummaryStatistics summary, LogHistogram histogram) {
+        System.out.printf("║    %s: среднее %.3f, СКО %.3f, p50 %.3f, p95 %.3f, p99 %.3f, p99.9 %.3f%n",
+                name, summary.getMean(), summary.getStandardDeviation(), histogram.quantile(0.5),
+                histogram.quantile(0.95), histogram.quantile(0.99), histogram.quantile(0.999));
+    }
 }
@@ -0,0 +1,147 @@
+package uni.architect.SystemArchitect;
+
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary image of a running {@link Simulator}: a short header (magic, version, model time, number
+ * of sources and workers) followed by the counters, generators, workers with their requests,
+ * buffer packages, selector state, pending events and statistics. The image is immutable and can be
+ * restored any number of times, with the same or a modified configuration.
+ */
+public class SimulatorSnapshot {
+    static final int MAGIC = 0x534e4150; // "SNAP"
+    static final int VERSION = 4;
+    private static final int TIME_OFFSET = 8;
+
+    private final byte[] data;
+
+    SimulatorSnapshot(byte[] data) {
+        this.data = data;
+    }
+
+    public static SimulatorSnapshot readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " is too large: " + size + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of snapshot " + file);
+                }
+            }
+            ByteBuffer header = buffer.flip();
+            if (size < TIME_OFFSET + Double.BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a simulator snapshot");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + header.getInt(4) + " in " + file);
+            }
+            return new SimulatorSnapshot(buffer.array());
+        }
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public double getTime() {
+        return ByteBuffer.wrap(data).getDouble(TIME_OFFSET);
+    }
+
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Restores the simulator with its own random streams, so with the original config it continues
+     * exactly where the snapshot was taken.
+     */
+    public Simulator restore(SimulationConfig config) {
+        return restore(config, new SplitMix64(0), true);
+    }
+
+    /**
+     * Restores the model state but draws all further random numbers from streams derived from
+     * {@code seed}.
+     */
+    public Simulator restore(SimulationConfig config, long seed) {
+        return restore(config, new SplitMix64(seed), false);
+    }
+
+    private Simulator restore(SimulationConfig config, SplitMix64 rand, boolean keepStreams) {
+        Simulator simulator = Simulator.create(config, rand, true, false);
+        try (DataInputStream in = new DataInputStream(new UnsyncByteArrayInputStream(data))) {
+            simulator.readState(in, keepStreams);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return simulator;
+    }
+
+    // the JDK byte array streams lock on every call, which dominates writing and reading many small fields
+    private static final class UnsyncByteArrayInputStream extends ByteArrayInputStream {
+        UnsyncByteArrayInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public int read() {
+            return pos < count ? buf[pos++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos >= count) {
+                return -1;
+            }
+            int n = Math.min(len, count - pos);
+            System.arraycopy(buf, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    static final class UnsyncByteArrayOutputStream extends ByteArrayOutputStream {
+        UnsyncByteArrayOutputStream(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(int b) {
+            grow(1);
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            grow(len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        private void grow(int extra) {
+            if (count + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package uni.architect.SystemArchitect;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class SlaTargets {
+    private double minKpd;
+    private double[] maxDeclineProbability;
+
+    public static SlaTargets standard() {
+        return new SlaTargets(0.75, new double[]{0.005, 0.02, 0.05});
+    }
+
+    public boolean hasDeclineTarget(int source) {
+        return source < maxDeclineProbability.length;
+    }
+
+    public double getMaxDeclineProbability(int source) {
+        return hasDeclineTarget(source) ? maxDeclineProbability[source] : 1.0;
+    }
+
+    /**
+     * @return sum of the per-source limits; a larger total decline probability breaks at least one
+     */
+    public double getTotalMaxDeclineProbability(int numSources) {
+        double total = 0;
+        for (int source = 0; source < numSources; source++) {
+            total += getMaxDeclineProbability(source);
+        }
+        return total;
+    }
+
+    public String describeDeclineTarget(int source) {
+        if (!hasDeclineTarget(source)) {
+            return "";
+        }
+        double target = maxDeclineProbability[source];
+        return "требуется ≤ " + plain(target) + " (" + plain(target * 100) + "%)";
+    }
+
+    public String describeKpdTarget() {
+        return "требуется >= " + plain(minKpd);
+    }
+
+    private static String plain(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,25 @@
+package uni.architect.SystemArchitect.analytic;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Approximate steady-state measures in the simulator's terms: utilisation of the workers and, per
+ * source, declined requests of that source divided by all generated requests.
+ */
+@Getter
+@AllArgsConstructor
+public class AnalyticEstimate {
+    private double kpd;
+    private double[] declineProbability;
+    // probability that an arrival finds every worker and buffer place occupied
+    private double fullProbability;
+
+    public int getNumSources() {
+        return declineProbability.length;
+    }
+
+    public double getDeclineProbability(int source) {
+        return declineProbability[source];
+    }
+}
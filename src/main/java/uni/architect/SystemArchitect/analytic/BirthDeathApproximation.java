@@ -0,0 +1,104 @@
+package uni.architect.SystemArchitect.analytic;
+
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+
+/**
+ * Microsecond-scale estimate for the Markovian version of the model (Poisson arrivals with the
+ * configured mean intervals, exponential service with the configured mean). Batches and a
+ * time-varying rate only enter through the mean request rate over the run, which understates
+ * their losses.
+ * <p>
+ * The total number of requests in the system is exactly an M/M/c/(c+K) birth-death chain: a full
+ * system loses one request per arrival whoever is evicted, and an evicted request never received
+ * service, so utilisation and the total decline probability are exact for that model. The total is
+ * split between sources by priority-class decomposition: sources {@code 0..j} together are treated
+ * as an M/M/c/(c+K) system of their own, as if they preempted lower priorities on the workers too.
+ * That is optimistic for high priorities and puts the rest of the losses on the lowest ones;
+ * {@link PriorityLossChain} gives the exact split for small systems.
+ */
+public final class BirthDeathApproximation {
+
+    private BirthDeathApproximation() {
+    }
+
+    public static AnalyticEstimate estimate(SimulationConfig config) {
+        int numSources = config.getNumGenerators();
+        int servers = config.getNumWorkers();
+        int capacity = config.getBufferCapacity();
+        double serviceTime = config.getServiceDistribution().getMean();
+
+        double[] declineProbability = new double[numSources];
+        double cumulativeRate = 0;
+        double previousLoss = 0;
+        double fullProbability = 0;
+        for (int j = 0; j < numSources; j++) {
+            cumulativeRate += config.getRequestRate(j, config.getSimulationTime());
+            fullProbability = fullProbability(servers, capacity, cumulativeRate * serviceTime);
+            // decline rate of sources 0..j together, never below that of 0..j-1
+            double loss = Math.max(previousLoss, cumulativeRate * fullProbability);
+            declineProbability[j] = loss - previousLoss;
+            previousLoss = loss;
+        }
+        for (int j = 0; j < numSources; j++) {
+            declineProbability[j] /= cumulativeRate;
+        }
+
+        double kpd = servers == 0 ? 0 : cumulativeRate * (1 - fullProbability) * serviceTime / servers;
+        return new AnalyticEstimate(kpd, declineProbability, fullProbability);
+    }
+
+    /**
+     * Whether the configuration is the Markovian model itself (Poisson arrivals of single requests
+     * at constant rates, exponential service), for which utilisation and the total decline
+     * probability of {@link #estimate} are exact rather than approximate.
+     */
+    public static boolean isMarkovian(SimulationConfig config) {
+        if (config.getArrivalDistributions() == null || config.getArrivalRate() != null
+                || config.getWorkload() != null
+                || !(config.getServiceDistribution() instanceof ExponentialDistribution)) {
+            return false;
+        }
+        for (int j = 0; j < config.getNumGenerators(); j++) {
+            if (!(config.getArrivalDistribution(j) instanceof ExponentialDistribution)
+                    || config.getBatchSize(j) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probability that an M/M/c/(c+K) system with offered load {@code a = lambda / mu} is full.
+     */
+    public static double fullProbability(int servers, int capacity, double load) {
+        if (servers == 0) {
+            // nothing is ever served, sooner or later every arrival is lost
+            return 1.0;
+        }
+        double term = 1.0;
+        double sum = 1.0;
+        for (int n = 1; n <= servers + capacity; n++) {
+            term *= load / Math.min(n, servers);
+            sum += term;
+            if (sum > 1e250) {
+                term /= sum;
+                sum = 1.0;
+            }
+        }
+        return term / sum;
+    }
+
+    /**
+     * Upper bound of the utilisation that holds for any arrival and service distributions: the
+     * workers cannot carry more than the offered load, taken at the peak of a time-varying rate so
+     * that it also bounds any observation window.
+     */
+    public static double maxKpd(SimulationConfig config) {
+        double load = 0;
+        for (int j = 0; j < config.getNumGenerators(); j++) {
+            load += config.getServiceDistribution().getMean() * config.getPeakRequestRate(j);
+        }
+        return Math.min(1.0, load / config.getNumWorkers());
+    }
+}
@@ -0,0 +1,207 @@
+package uni.architect.SystemArchitect.analytic;
+
+import uni.architect.SystemArchitect.SimulationConfig;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exact CTMC of the Markovian model (Poisson arrivals, exponential service) for small sizes. While
+ * some worker is idle the state is the number of busy workers; once all are busy it is the number of
+ * buffered requests per source together with the package being served, which reproduces the
+ * buffer's eviction rule and its sticky package selection. The chain is solved with
+ * {@link SparseMarkovChain}; the state count grows like {@code C(K + S, S) * (S + 1)}.
+ */
+public final class PriorityLossChain {
+    public static final int MAX_STATES = 500_000;
+    private static final int BITS_PER_SOURCE = 16;
+    private static final int NO_PACKAGE = -1;
+
+    private final int numSources;
+    private final int servers;
+    private final int capacity;
+    private final double[] arrivalRates;
+    private final double serviceRate;
+
+    private final Map<Long, Integer> index = new HashMap<>();
+    private long[] keys = new long[16];
+    private int states = 0;
+
+    private PriorityLossChain(SimulationConfig config) {
+        numSources = config.getNumGenerators();
+        servers = config.getNumWorkers();
+        capacity = config.getBufferCapacity();
+        if (numSources * BITS_PER_SOURCE > 56 || capacity >= 1 << BITS_PER_SOURCE) {
+            throw new IllegalArgumentException("Too many sources or buffer places for the exact chain");
+        }
+        arrivalRates = new double[numSources];
+        for (int j = 0; j < numSources; j++) {
+            arrivalRates[j] = 1.0 / config.getArrivalDistribution(j).getMean();
+        }
+        serviceRate = 1.0 / config.getServiceDistribution().getMean();
+    }
+
+    public static AnalyticEstimate solve(SimulationConfig config) {
+        return solve(config, 1e-10, 100_000);
+    }
+
+    /**
+     * @throws IllegalStateException if the sweeps do not reach the tolerance within the budget
+     */
+    public static AnalyticEstimate solve(SimulationConfig config, double tolerance, int maxSweeps) {
+        return new PriorityLossChain(config).solveChain(tolerance, maxSweeps);
+    }
+
+    private AnalyticEstimate solveChain(double tolerance, int maxSweeps) {
+        // states 0..servers-1: that many busy workers and an empty buffer
+        for (int busy = 0; busy < servers; busy++) {
+            stateIndex(-1L - busy);
+        }
+        enumerate(new int[numSources], 0, 0);
+        if (states > MAX_STATES) {
+            throw new IllegalArgumentException("The exact chain would have " + states + " states");
+        }
+
+        SparseMarkovChain chain = new SparseMarkovChain(states);
+        double[][] declineRate = new double[numSources][states];
+        double[] busyWorkers = new double[states];
+        int[] counts = new int[numSources];
+        for (int state = 0; state < states; state++) {
+            long key = keys[state];
+            if (key < 0) {
+                int busy = (int) (-1L - key);
+                busyWorkers[state] = busy;
+                int up = busy + 1 < servers ? stateIndex(-2L - busy) : stateIndex(encode(new int[numSources], NO_PACKAGE));
+                for (int j = 0; j < numSources; j++) {
+                    chain.addTransition(state, up, arrivalRates[j]);
+                }
+                if (busy > 0) {
+                    chain.addTransition(state, stateIndex(-busy), busy * serviceRate);
+                }
+                continue;
+            }
+            busyWorkers[state] = servers;
+            int priorityPackage = (int) (key >>> 56) - 1;
+            decode(key, counts);
+            int size = 0;
+            for (int count : counts) {
+                size += count;
+            }
+
+            for (int j = 0; j < numSources; j++) {
+                if (size < capacity) {
+                    counts[j]++;
+                    chain.addTransition(state, stateIndex(encode(counts, priorityPackage)), arrivalRates[j]);
+                    counts[j]--;
+                    continue;
+                }
+                int victim = lowestPriority(counts);
+                if (victim <= j) {
+                    declineRate[j][state] += arrivalRates[j];
+                    continue;
+                }
+                declineRate[victim][state] += arrivalRates[j];
+                counts[victim]--;
+                int nextPackage = counts[victim] == 0 ? highestPriority(counts) : priorityPackage;
+                counts[j]++;
+                chain.addTransition(state, stateIndex(encode(counts, nextPackage)), arrivalRates[j]);
+                counts[j]--;
+                counts[victim]++;
+            }
+
+            double completion = servers * serviceRate;
+            if (size == 0) {
+                chain.addTransition(state, stateIndex(-servers), completion);
+                continue;
+            }
+            int served = priorityPackage == NO_PACKAGE ? highestPriority(counts) : priorityPackage;
+            counts[served]--;
+            int nextPackage = counts[served] == 0 ? highestPriority(counts) : served;
+            chain.addTransition(state, stateIndex(encode(counts, nextPackage)), completion);
+            counts[served]++;
+        }
+
+        double[] pi = chain.stationary(tolerance, maxSweeps);
+        double totalRate = 0;
+        for (double rate : arrivalRates) {
+            totalRate += rate;
+        }
+        double busy = 0;
+        double full = 0;
+        double[] declineProbability = new double[numSources];
+        for (int state = 0; state < states; state++) {
+            busy += pi[state] * busyWorkers[state];
+            for (int j = 0; j < numSources; j++) {
+                declineProbability[j] += pi[state] * declineRate[j][state];
+            }
+        }
+        for (int j = 0; j < numSources; j++) {
+            full += declineProbability[j];
+            declineProbability[j] /= totalRate;
+        }
+        return new AnalyticEstimate(servers == 0 ? 0 : busy / servers, declineProbability, full / totalRate);
+    }
+
+    private void enumerate(int[] counts, int source, int size) {
+        if (source == numSources) {
+            stateIndex(encode(counts, NO_PACKAGE));
+            for (int j = 0; j < numSources; j++) {
+                if (counts[j] > 0) {
+                    stateIndex(encode(counts, j));
+                }
+            }
+            return;
+        }
+        for (int count = 0; size + count <= capacity; count++) {
+            counts[source] = count;
+            enumerate(counts, source + 1, size + count);
+        }
+        counts[source] = 0;
+    }
+
+    private int stateIndex(long key) {
+        Integer existing = index.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (states == keys.length) {
+            keys = Arrays.copyOf(keys, states * 2);
+        }
+        keys[states] = key;
+        index.put(key, states);
+        return states++;
+    }
+
+    private long encode(int[] counts, int priorityPackage) {
+        long key = (long) (priorityPackage + 1) << 56;
+        for (int j = 0; j < numSources; j++) {
+            key |= (long) counts[j] << (j * BITS_PER_SOURCE);
+        }
+        return key;
+    }
+
+    private void decode(long key, int[] counts) {
+        for (int j = 0; j < numSources; j++) {
+            counts[j] = (int) (key >>> (j * BITS_PER_SOURCE)) & ((1 << BITS_PER_SOURCE) - 1);
+        }
+    }
+
+    private static int highestPriority(int[] counts) {
+        for (int j = 0; j < counts.length; j++) {
+            if (counts[j] > 0) {
+                return j;
+            }
+        }
+        return NO_PACKAGE;
+    }
+
+    private static int lowestPriority(int[] counts) {
+        for (int j = counts.length - 1; j >= 0; j--) {
+            if (counts[j] > 0) {
+                return j;
+            }
+        }
+        return NO_PACKAGE;
+    }
+}
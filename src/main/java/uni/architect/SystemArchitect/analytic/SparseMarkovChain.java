@@ -0,0 +1,99 @@
+package uni.architect.SystemArchitect.analytic;
+
+import java.util.Arrays;
+
+/**
+ * Continuous-time Markov chain with a sparse generator, solved for its stationary distribution by
+ * Gauss-Seidel sweeps over the balance equations
+ * {@code pi_i * out_i = sum_k pi_k * q_ki}. Transitions are stored grouped by destination
+ * (compressed rows of the transposed generator), so a sweep is one pass over the non-zeros.
+ */
+public class SparseMarkovChain {
+    private final int states;
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private double[] rates = new double[16];
+    private int transitions = 0;
+
+    public SparseMarkovChain(int states) {
+        this.states = states;
+    }
+
+    public int getStates() {
+        return states;
+    }
+
+    public void addTransition(int source, int destination, double rate) {
+        if (source == destination || rate == 0) {
+            return;
+        }
+        if (transitions == from.length) {
+            from = Arrays.copyOf(from, transitions * 2);
+            to = Arrays.copyOf(to, transitions * 2);
+            rates = Arrays.copyOf(rates, transitions * 2);
+        }
+        from[transitions] = source;
+        to[transitions] = destination;
+        rates[transitions] = rate;
+        transitions++;
+    }
+
+    /**
+     * @param tolerance  largest relative change of a probability between two sweeps
+     * @param maxSweeps  iteration budget
+     * @return stationary probabilities, summing to one
+     * @throws IllegalStateException if the budget runs out before the tolerance is met, so a
+     *                               truncated iteration is never mistaken for the solution
+     */
+    public double[] stationary(double tolerance, int maxSweeps) {
+        int[] rowStart = new int[states + 1];
+        for (int i = 0; i < transitions; i++) {
+            rowStart[to[i] + 1]++;
+        }
+        for (int i = 0; i < states; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] incomingFrom = new int[transitions];
+        double[] incomingRate = new double[transitions];
+        int[] fill = Arrays.copyOf(rowStart, states);
+        double[] outRate = new double[states];
+        for (int i = 0; i < transitions; i++) {
+            int slot = fill[to[i]]++;
+            incomingFrom[slot] = from[i];
+            incomingRate[slot] = rates[i];
+            outRate[from[i]] += rates[i];
+        }
+
+        double[] pi = new double[states];
+        Arrays.fill(pi, 1.0 / states);
+        double maxChange = Double.POSITIVE_INFINITY;
+        for (int sweep = 0; sweep < maxSweeps && maxChange > tolerance; sweep++) {
+            maxChange = 0;
+            double sum = 0;
+            for (int i = 0; i < states; i++) {
+                if (outRate[i] == 0) {
+                    continue;
+                }
+                double inflow = 0;
+                for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                    inflow += pi[incomingFrom[k]] * incomingRate[k];
+                }
+                double next = inflow / outRate[i];
+                double change = Math.abs(next - pi[i]);
+                if (next > 0 && change > maxChange * next) {
+                    maxChange = change / next;
+                }
+                pi[i] = next;
+                sum += next;
+            }
+            for (int i = 0; i < states; i++) {
+                pi[i] /= sum;
+            }
+        }
+        if (maxChange > tolerance) {
+            throw new IllegalStateException("Stationary distribution did not converge in " + maxSweeps
+                    + " sweeps, last relative change " + maxChange);
+        }
+        return pi;
+    }
+}
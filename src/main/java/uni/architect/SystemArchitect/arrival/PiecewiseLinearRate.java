@@ -0,0 +1,139 @@
+package uni.architect.SystemArchitect.arrival;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Rate interpolated linearly between knots; two knots at the same time make a step. The first knot
+ * is at time 0, the last one ends the horizon (the period of a periodic rate).
+ */
+public class PiecewiseLinearRate implements RateFunction {
+    private final double[] times;
+    private final double[] rates;
+    @Getter
+    private final boolean periodic;
+
+    public PiecewiseLinearRate(double[] times, double[] rates, boolean periodic) {
+        if (times.length != rates.length || times.length < 2) {
+            throw new IllegalArgumentException("Need at least two knots with one rate each, got "
+                    + times.length + " times and " + rates.length + " rates");
+        }
+        if (times[0] != 0) {
+            throw new IllegalArgumentException("The first knot must be at time 0, got " + times[0]);
+        }
+        for (int i = 0; i < times.length; i++) {
+            if (i > 0 && !(times[i] >= times[i - 1])) {
+                throw new IllegalArgumentException("Knot times must not decrease: " + Arrays.toString(times));
+            }
+            if (!(rates[i] >= 0) || Double.isInfinite(rates[i])) {
+                throw new IllegalArgumentException("Invalid rate " + rates[i]);
+            }
+        }
+        if (!(times[times.length - 1] > 0)) {
+            throw new IllegalArgumentException("The horizon must be positive");
+        }
+        this.times = times.clone();
+        this.rates = rates.clone();
+        this.periodic = periodic;
+    }
+
+    /**
+     * Relative intensity of a bank working day with mean 1: a quiet night, the morning ramp, the
+     * lunchtime peak and the evening fall-off, repeated every {@code dayLength}.
+     */
+    public static PiecewiseLinearRate bankDay(double dayLength) {
+        double hour = dayLength / 24;
+        double[] hours = {0, 7, 9, 12, 12, 14, 14, 18, 21, 24};
+        double[] rates = {0.15, 0.15, 1.2, 1.2, 2.6, 2.6, 1.2, 1.2, 0.15, 0.15};
+        double[] times = new double[hours.length];
+        for (int i = 0; i < hours.length; i++) {
+            times[i] = hours[i] * hour;
+        }
+        PiecewiseLinearRate shape = new PiecewiseLinearRate(times, rates, true);
+        return shape.scaled(1 / shape.getMean());
+    }
+
+    public PiecewiseLinearRate scaled(double factor) {
+        double[] scaledRates = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            scaledRates[i] = rates[i] * factor;
+        }
+        return new PiecewiseLinearRate(times, scaledRates, periodic);
+    }
+
+    /**
+     * @return the average rate over the horizon
+     */
+    public double getMean() {
+        return cumulative(getHorizon()) / getHorizon();
+    }
+
+    @Override
+    public double cumulative(double time) {
+        double horizon = getHorizon();
+        if (time <= horizon) {
+            return area(time);
+        }
+        if (!periodic) {
+            return area(horizon) + (time - horizon) * rates[rates.length - 1];
+        }
+        double periods = Math.floor(time / horizon);
+        return periods * area(horizon) + area(time - periods * horizon);
+    }
+
+    // integral over [0, time] within the horizon
+    private double area(double time) {
+        double area = 0;
+        int knot = 1;
+        for (; knot < times.length && times[knot] <= time; knot++) {
+            area += (times[knot] - times[knot - 1]) * (rates[knot] + rates[knot - 1]) / 2;
+        }
+        if (knot < times.length && time > times[knot - 1]) {
+            area += (time - times[knot - 1]) * (rates[knot - 1] + rate(time)) / 2;
+        }
+        return area;
+    }
+
+    @Override
+    public double getHorizon() {
+        return times[times.length - 1];
+    }
+
+    @Override
+    public double rate(double time) {
+        if (time >= getHorizon()) {
+            return rates[rates.length - 1];
+        }
+        // the last knot at or before the time, so a step takes its right-hand value
+        int knot = upperBound(time) - 1;
+        double width = times[knot + 1] - times[knot];
+        double fraction = width > 0 ? (time - times[knot]) / width : 0;
+        return rates[knot] + fraction * (rates[knot + 1] - rates[knot]);
+    }
+
+    // a linear piece takes its maximum at an end, so only the ends and the knots in between matter
+    @Override
+    public double maxRate(double from, double to) {
+        double max = Math.max(rate(from), rate(Math.min(to, getHorizon())));
+        for (int knot = upperBound(from); knot < times.length && times[knot] <= to; knot++) {
+            max = Math.max(max, rates[knot]);
+        }
+        return max;
+    }
+
+    // index of the first knot after the time
+    private int upperBound(double time) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,44 @@
+package uni.architect.SystemArchitect.arrival;
+
+/**
+ * Intensity of a non-homogeneous Poisson process over time. A periodic function repeats every
+ * {@link #getPeriod()}; any other one keeps the value it has at {@link #getHorizon()} forever after.
+ */
+public interface RateFunction {
+    /**
+     * @param time in {@code [0, horizon]}
+     */
+    double rate(double time);
+
+    /**
+     * @return an upper bound of the rate over {@code [from, to]}, the tighter the fewer candidates
+     * thinning rejects
+     */
+    double maxRate(double from, double to);
+
+    /**
+     * @return the integral of the rate over {@code [0, time]}
+     */
+    double cumulative(double time);
+
+    /**
+     * @return the average rate over {@code [0, time]}, or the long-run average for a non-positive time
+     */
+    default double meanRate(double time) {
+        if (time > 0) {
+            return cumulative(time) / time;
+        }
+        return isPeriodic() ? cumulative(getPeriod()) / getPeriod() : rate(getHorizon());
+    }
+
+    /**
+     * @return end of the varying part: the period of a periodic function
+     */
+    double getHorizon();
+
+    boolean isPeriodic();
+
+    default double getPeriod() {
+        return isPeriodic() ? getHorizon() : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,141 @@
+package uni.architect.SystemArchitect.arrival;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Arrival times of a non-homogeneous Poisson process with intensity {@code scale * rate(t)}, sampled
+ * by thinning (Lewis and Shedler) against a piecewise-constant majorant. The horizon is split until
+ * every segment's majorant exceeds its mean rate by at most {@code maxRejection}, so only that share
+ * of the candidates is thrown away. A candidate gap that crosses the end of a segment restarts at
+ * the boundary with the next majorant, which the memorylessness of the exponential gap allows.
+ */
+public class ThinningArrivals {
+    public static final double DEFAULT_MAX_REJECTION = 0.05;
+    private static final int INITIAL_SEGMENTS = 64;
+    private static final int MAX_DEPTH = 16;
+
+    private final RateFunction rate;
+    private final double scale;
+    private final double horizon;
+    private final boolean periodic;
+    // segment i is [starts[i], starts[i + 1]), the last start is the horizon
+    private final double[] starts;
+    private final double[] majorants;
+    private final boolean silent;
+
+    @Getter
+    private long candidates = 0;
+    @Getter
+    private long accepted = 0;
+
+    public ThinningArrivals(RateFunction rate, double scale) {
+        this(rate, scale, DEFAULT_MAX_REJECTION);
+    }
+
+    public ThinningArrivals(RateFunction rate, double scale, double maxRejection) {
+        this.rate = rate;
+        this.scale = scale;
+        this.horizon = rate.getHorizon();
+        this.periodic = rate.isPeriodic();
+
+        List<double[]> segments = new ArrayList<>();
+        double width = horizon / INITIAL_SEGMENTS;
+        for (int i = 0; i < INITIAL_SEGMENTS; i++) {
+            split(i * width, i + 1 == INITIAL_SEGMENTS ? horizon : (i + 1) * width, maxRejection, 0, segments);
+        }
+        starts = new double[segments.size() + 1];
+        majorants = new double[segments.size()];
+        boolean anyPositive = false;
+        for (int i = 0; i < segments.size(); i++) {
+            starts[i] = segments.get(i)[0];
+            majorants[i] = segments.get(i)[1] * scale;
+            anyPositive |= majorants[i] > 0;
+        }
+        starts[segments.size()] = horizon;
+        silent = !anyPositive;
+    }
+
+    private void split(double from, double to, double maxRejection, int depth, List<double[]> segments) {
+        double max = rate.maxRate(from, to);
+        double middle = (from + to) / 2;
+        // Simpson's rule, exact for the linear pieces between knots
+        double mean = (rate.rate(from) + 4 * rate.rate(middle) + rate.rate(to)) / 6;
+        if (max == 0 || mean >= (1 - maxRejection) * max || depth == MAX_DEPTH) {
+            segments.add(new double[]{from, max});
+            return;
+        }
+        split(from, middle, maxRejection, depth + 1, segments);
+        split(middle, to, maxRejection, depth + 1, segments);
+    }
+
+    public int getSegments() {
+        return majorants.length;
+    }
+
+    /**
+     * @return share of the candidates rejected so far
+     */
+    public double getRejectedShare() {
+        return candidates == 0 ? 0.0 : 1.0 - (double) accepted / candidates;
+    }
+
+    /**
+     * @return the first arrival after {@code time}, infinity if the rate stays zero
+     */
+    public double next(double time, RandomGenerator rand) {
+        double cycleStart = periodic ? Math.floor(time / horizon) * horizon : 0.0;
+        double local = time - cycleStart;
+        if (!periodic && local >= horizon) {
+            double tailRate = rate.rate(horizon) * scale;
+            return tailRate > 0 ? time + rand.nextExponential() / tailRate : Double.POSITIVE_INFINITY;
+        }
+        if (periodic && silent) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int segment = segmentAt(local);
+        while (true) {
+            double majorant = majorants[segment];
+            double end = starts[segment + 1];
+            if (majorant > 0) {
+                double candidate = local + rand.nextExponential() / majorant;
+                if (candidate < end) {
+                    local = candidate;
+                    candidates++;
+                    if (rand.nextDouble() * majorant < rate.rate(local) * scale) {
+                        accepted++;
+                        return cycleStart + local;
+                    }
+                    continue;
+                }
+            }
+            local = end;
+            if (++segment == majorants.length) {
+                if (!periodic) {
+                    return next(cycleStart + horizon, rand);
+                }
+                cycleStart += horizon;
+                local = 0.0;
+                segment = 0;
+            }
+        }
+    }
+
+    private int segmentAt(double local) {
+        int low = 0;
+        int high = majorants.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= local) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
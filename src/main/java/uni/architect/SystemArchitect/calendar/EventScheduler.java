@@ -0,0 +1,59 @@
+package uni.architect.SystemArchitect.calendar;
+
+import uni.architect.SystemArchitect.model.Event;
+
+/**
+ * Event calendar of the simulator. Events are stored as primitives, so scheduling and polling
+ * do not allocate. Events with equal time are returned in the order they were scheduled.
+ */
+public interface EventScheduler {
+
+    @FunctionalInterface
+    interface EventConsumer {
+        void accept(Event.EventType type, double time, int objectNumber);
+    }
+
+    void schedule(Event.EventType type, double time, int objectNumber);
+
+    /**
+     * Removes the earliest event and makes it the current one.
+     *
+     * @return false if the calendar is empty
+     */
+    boolean poll();
+
+    /**
+     * @return time of the earliest pending event, or positive infinity if the calendar is empty
+     */
+    double peekTime();
+
+    /**
+     * @return type of the earliest pending event, or null if the calendar is empty
+     */
+    Event.EventType peekType();
+
+    Event.EventType getCurrentType();
+
+    double getCurrentTime();
+
+    int getCurrentObjectNumber();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    void clear();
+
+    /**
+     * Visits pending events in no particular order.
+     */
+    void forEach(EventConsumer consumer);
+
+    /**
+     * Visits pending events in the order {@link #poll()} would return them; rescheduling them in
+     * this order into an empty calendar reproduces the same sequence, ties included.
+     */
+    void forEachInOrder(EventConsumer consumer);
+}
@@ -0,0 +1,177 @@
+package uni.architect.SystemArchitect.calendar;
+
+import uni.architect.SystemArchitect.model.Event;
+
+import java.util.Arrays;
+
+/**
+ * 4-ary min-heap over parallel primitive arrays. Ties on time are broken by a monotonically
+ * increasing sequence number, so identical timestamps always pop in scheduling order.
+ */
+public class HeapEventScheduler implements EventScheduler {
+    private static final int ARITY = 4;
+    private static final Event.EventType[] TYPES = Event.EventType.values();
+
+    private double[] times;
+    private int[] types;
+    private int[] objects;
+    private long[] sequences;
+    private int size = 0;
+    private long nextSequence = 0;
+
+    private Event.EventType currentType;
+    private double currentTime;
+    private int currentObjectNumber;
+
+    public HeapEventScheduler() {
+        this(16);
+    }
+
+    public HeapEventScheduler(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, ARITY);
+        times = new double[capacity];
+        types = new int[capacity];
+        objects = new int[capacity];
+        sequences = new long[capacity];
+    }
+
+    @Override
+    public void schedule(Event.EventType type, double time, int objectNumber) {
+        if (size == times.length) {
+            grow();
+        }
+        siftUp(size++, time, type.ordinal(), objectNumber, nextSequence++);
+    }
+
+    @Override
+    public boolean poll() {
+        if (size == 0) {
+            return false;
+        }
+        currentTime = times[0];
+        currentType = TYPES[types[0]];
+        currentObjectNumber = objects[0];
+
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, times[last], types[last], objects[last], sequences[last]);
+        }
+        return true;
+    }
+
+    @Override
+    public double peekTime() {
+        return size == 0 ? Double.POSITIVE_INFINITY : times[0];
+    }
+
+    @Override
+    public Event.EventType peekType() {
+        return size == 0 ? null : TYPES[types[0]];
+    }
+
+    @Override
+    public Event.EventType getCurrentType() {
+        return currentType;
+    }
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public int getCurrentObjectNumber() {
+        return currentObjectNumber;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nextSequence = 0;
+    }
+
+    @Override
+    public void forEach(EventConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(TYPES[types[i]], times[i], objects[i]);
+        }
+    }
+
+    @Override
+    public void forEachInOrder(EventConsumer consumer) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> less(times[a], sequences[a], times[b], sequences[b]) ? -1
+                : less(times[b], sequences[b], times[a], sequences[a]) ? 1 : 0);
+        for (int i : order) {
+            consumer.accept(TYPES[types[i]], times[i], objects[i]);
+        }
+    }
+
+    private static boolean less(double time, long sequence, double otherTime, long otherSequence) {
+        return time < otherTime || (time == otherTime && sequence < otherSequence);
+    }
+
+    private void siftUp(int index, double time, int type, int object, long sequence) {
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (!less(time, sequence, times[parent], sequences[parent])) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        set(index, time, type, object, sequence);
+    }
+
+    private void siftDown(int index, double time, int type, int object, long sequence) {
+        while (true) {
+            int firstChild = index * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int best = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (less(times[child], sequences[child], times[best], sequences[best])) {
+                    best = child;
+                }
+            }
+            if (!less(times[best], sequences[best], time, sequence)) {
+                break;
+            }
+            move(best, index);
+            index = best;
+        }
+        set(index, time, type, object, sequence);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        types[to] = types[from];
+        objects[to] = objects[from];
+        sequences[to] = sequences[from];
+    }
+
+    private void set(int index, double time, int type, int object, long sequence) {
+        times[index] = time;
+        types[index] = type;
+        objects[index] = object;
+        sequences[index] = sequence;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        times = Arrays.copyOf(times, capacity);
+        types = Arrays.copyOf(types, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+    }
+}
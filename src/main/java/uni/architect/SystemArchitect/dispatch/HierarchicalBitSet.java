@@ -0,0 +1,90 @@
+package uni.architect.SystemArchitect.dispatch;
+
+/**
+ * Bit set with summary levels: bit {@code i} of level {@code k + 1} is set when word {@code i} of
+ * level {@code k} is non-zero. {@link #nextSetBit(int)} therefore touches one word per level,
+ * i.e. O(log64 n) instead of O(n / 64).
+ */
+public class HierarchicalBitSet {
+    private final long[][] levels;
+    private final int size;
+
+    public HierarchicalBitSet(int size) {
+        this.size = size;
+        int depth = 1;
+        for (int bits = size; bits > Long.SIZE; bits = (bits + Long.SIZE - 1) / Long.SIZE) {
+            depth++;
+        }
+        levels = new long[depth][];
+        int bits = Math.max(size, 1);
+        for (int level = 0; level < depth; level++) {
+            levels[level] = new long[(bits + Long.SIZE - 1) / Long.SIZE];
+            bits = levels[level].length;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        return (levels[0][index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index) {
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            boolean wasEmpty = level[word] == 0;
+            level[word] |= 1L << index;
+            if (!wasEmpty) {
+                return;
+            }
+            index = word;
+        }
+    }
+
+    public void clear(int index) {
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            level[word] &= ~(1L << index);
+            if (level[word] != 0) {
+                return;
+            }
+            index = word;
+        }
+    }
+
+    public boolean isEmpty() {
+        return levels[levels.length - 1][0] == 0;
+    }
+
+    /**
+     * @return the smallest set index that is {@code >= from}, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        return nextSetBit(0, Math.max(from, 0));
+    }
+
+    private int nextSetBit(int level, int from) {
+        long[] words = levels[level];
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        if (bits != 0) {
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        if (level + 1 == levels.length) {
+            return -1;
+        }
+        int nextWord = nextSetBit(level + 1, word + 1);
+        if (nextWord < 0) {
+            return -1;
+        }
+        return (nextWord << 6) + Long.numberOfTrailingZeros(words[nextWord]);
+    }
+}
@@ -0,0 +1,71 @@
+package uni.architect.SystemArchitect.dispatch;
+
+/**
+ * Gives the request to the worker that has been idle the longest. Idle workers are kept in a FIFO
+ * ring in the order they were freed, so every operation is O(1).
+ */
+public class LeastRecentlyFreedSelector implements WorkerSelector {
+    private final int[] queue;
+    private int head = 0;
+    private int count;
+
+    public LeastRecentlyFreedSelector(int numWorkers) {
+        queue = new int[Math.max(numWorkers, 1)];
+        for (int i = 0; i < numWorkers; i++) {
+            queue[i] = i;
+        }
+        count = numWorkers;
+    }
+
+    @Override
+    public int select() {
+        return count == 0 ? -1 : queue[head];
+    }
+
+    // during a run the simulator only occupies the worker returned by select(); any other worker
+    // (when a restored simulator marks its busy workers) is cut out of the ring in O(n)
+    @Override
+    public void onBusy(int worker) {
+        if (count > 0 && queue[head] != worker) {
+            int[] idle = saveState();
+            head = 0;
+            count = 0;
+            for (int w : idle) {
+                if (w != worker) {
+                    queue[count++] = w;
+                }
+            }
+            return;
+        }
+        head = head + 1 == queue.length ? 0 : head + 1;
+        count--;
+    }
+
+    @Override
+    public void onIdle(int worker) {
+        int tail = head + count;
+        if (tail >= queue.length) {
+            tail -= queue.length;
+        }
+        queue[tail] = worker;
+        count++;
+    }
+
+    // idle workers from the longest idle one
+    @Override
+    public int[] saveState() {
+        int[] idle = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = head + i;
+            idle[i] = queue[index >= queue.length ? index - queue.length : index];
+        }
+        return idle;
+    }
+
+    @Override
+    public void restoreState(int[] state) {
+        System.arraycopy(state, 0, queue, 0, state.length);
+        head = 0;
+        count = state.length;
+    }
+}
@@ -0,0 +1,98 @@
+package uni.architect.SystemArchitect.dispatch;
+
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.List;
+
+/**
+ * Gives the request to the idle worker with the smallest accumulated work time, which evens out
+ * the load. Idle workers live in an indexed binary min-heap keyed by their total work time; a key
+ * can only change while the worker is busy, i.e. outside the heap.
+ */
+public class LeastTotalWorkSelector implements WorkerSelector {
+    private final List<Worker> workers;
+    private final int[] heap;
+    private final double[] keys;
+    private final int[] positions;
+    private int size = 0;
+
+    public LeastTotalWorkSelector(List<Worker> workers) {
+        this.workers = workers;
+        int n = workers.size();
+        heap = new int[n];
+        keys = new double[n];
+        positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = -1;
+            onIdle(i);
+        }
+    }
+
+    @Override
+    public int select() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    @Override
+    public void onBusy(int worker) {
+        int position = positions[worker];
+        if (position < 0) {
+            return;
+        }
+        positions[worker] = -1;
+        int last = heap[--size];
+        if (position < size) {
+            place(last, position);
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+    }
+
+    @Override
+    public void onIdle(int worker) {
+        keys[worker] = workers.get(worker).getTotalWorkTime();
+        place(worker, size++);
+        siftUp(size - 1);
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int position) {
+        int worker = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(worker, heap[parent])) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(worker, position);
+    }
+
+    private void siftDown(int position) {
+        int worker = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], worker)) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(worker, position);
+    }
+
+    private void place(int worker, int position) {
+        heap[position] = worker;
+        positions[worker] = position;
+    }
+}
@@ -0,0 +1,56 @@
+package uni.architect.SystemArchitect.dispatch;
+
+import uni.architect.SystemArchitect.monitoring.WorkerSelectionEvent;
+
+/**
+ * D2P2 round robin: the first idle worker at or after the pointer, wrapping around the ring. The
+ * pointer stays on the chosen worker and does not move when all workers are busy, exactly like the
+ * linear scan in {@link ScanRoundRobinSelector}, but the idle workers are found through a
+ * {@link HierarchicalBitSet}.
+ */
+public class RoundRobinSelector implements WorkerSelector {
+    private final HierarchicalBitSet idle;
+    private int pointer = 0;
+
+    public RoundRobinSelector(int numWorkers) {
+        idle = new HierarchicalBitSet(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            idle.set(i);
+        }
+    }
+
+    @Override
+    public int select() {
+        int worker = idle.nextSetBit(pointer);
+        if (worker < 0) {
+            worker = idle.nextSetBit(0);
+            if (worker < 0) {
+                WorkerSelectionEvent.record(idle.size(), -1);
+                return -1;
+            }
+        }
+        WorkerSelectionEvent.record(worker >= pointer ? worker - pointer : worker + idle.size() - pointer, worker);
+        pointer = worker;
+        return worker;
+    }
+
+    @Override
+    public void onBusy(int worker) {
+        idle.clear(worker);
+    }
+
+    @Override
+    public void onIdle(int worker) {
+        idle.set(worker);
+    }
+
+    @Override
+    public int[] saveState() {
+        return new int[]{pointer};
+    }
+
+    @Override
+    public void restoreState(int[] state) {
+        pointer = state[0];
+    }
+}
@@ -0,0 +1,42 @@
+package uni.architect.SystemArchitect.dispatch;
+
+import uni.architect.SystemArchitect.model.Worker;
+import uni.architect.SystemArchitect.monitoring.WorkerSelectionEvent;
+
+import java.util.List;
+
+/**
+ * Original D2P2 implementation: linear scan over the workers from the pointer. O(workers) when the
+ * system is nearly saturated; kept as the reference for {@link RoundRobinSelector}.
+ */
+public class ScanRoundRobinSelector implements WorkerSelector {
+    private final List<Worker> workers;
+    private int workerPointer = 0;
+
+    public ScanRoundRobinSelector(List<Worker> workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public int select() {
+        int tries = 0;
+        while (workers.get(workerPointer).isBusy()) {
+            tries++;
+            workerPointer = (workerPointer + 1) % workers.size();
+            if (tries >= workers.size()) {
+                WorkerSelectionEvent.record(tries, -1);
+                return -1;
+            }
+        }
+        WorkerSelectionEvent.record(tries, workerPointer);
+        return workerPointer;
+    }
+
+    @Override
+    public void onBusy(int worker) {
+    }
+
+    @Override
+    public void onIdle(int worker) {
+    }
+}
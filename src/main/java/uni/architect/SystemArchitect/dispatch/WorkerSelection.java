@@ -0,0 +1,19 @@
+package uni.architect.SystemArchitect.dispatch;
+
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.List;
+
+public enum WorkerSelection {
+    ROUND_ROBIN,
+    LEAST_RECENTLY_FREED,
+    LEAST_TOTAL_WORK;
+
+    public WorkerSelector create(List<Worker> workers) {
+        return switch (this) {
+            case ROUND_ROBIN -> new RoundRobinSelector(workers.size());
+            case LEAST_RECENTLY_FREED -> new LeastRecentlyFreedSelector(workers.size());
+            case LEAST_TOTAL_WORK -> new LeastTotalWorkSelector(workers);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package uni.architect.SystemArchitect.dispatch;
+
+/**
+ * Worker selection discipline. Implementations keep their own index of idle workers, which the
+ * simulator maintains through {@link #onBusy(int)} and {@link #onIdle(int)}.
+ */
+public interface WorkerSelector {
+    /**
+     * @return number of the idle worker that should take the next request, or -1 if all are busy
+     */
+    int select();
+
+    void onBusy(int worker);
+
+    void onIdle(int worker);
+
+    /**
+     * @return discipline-specific state beyond the set of idle workers (a pointer, an order), used
+     * by snapshots; empty when the idle set determines everything
+     */
+    default int[] saveState() {
+        return new int[0];
+    }
+
+    /**
+     * Applies {@link #saveState()} of a selector of the same class whose workers have the same
+     * busy flags as reported to this one through {@link #onBusy(int)}.
+     */
+    default void restoreState(int[] state) {
+    }
+}
@@ -0,0 +1,85 @@
+package uni.architect.SystemArchitect.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker's alias method (Vose's construction): after O(n) preparation an index is drawn with a
+ * single uniform variate and one comparison.
+ */
+public class AliasTable {
+    private final double[] threshold;
+    private final int[] alias;
+    private final double[] probability;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights sum to zero");
+        }
+
+        threshold = new double[n];
+        alias = new int[n];
+        probability = new double[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = weights[i] / total;
+            scaled[i] = probability[i] * n;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // leftovers are 1 up to rounding
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            threshold[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            threshold[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    public int sample(RandomGenerator rand) {
+        double u = rand.nextDouble() * threshold.length;
+        int column = (int) u;
+        return u - column < threshold[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return threshold.length;
+    }
+
+    public double getProbability(int index) {
+        return probability[index];
+    }
+}
@@ -0,0 +1,79 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.stats.StudentT;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * Random stream for antithetic pairs: both members wrap identically seeded generators, the
+ * antithetic one returns {@code 1 - 2^-53 - U} instead of {@code U}, the mirror image of {@code U}
+ * on the grid of {@code nextDouble}, so both stay in {@code [0, 1)}. Exponential and normal
+ * variates are produced by inversion (the JDK ziggurat samplers are not monotone in a single
+ * uniform), so every sample of one member is negatively correlated with the matching sample of
+ * the other.
+ */
+public class AntitheticRandom implements RandomGenerator.SplittableGenerator {
+    private final SplittableGenerator delegate;
+    @Getter
+    private final boolean antithetic;
+
+    public AntitheticRandom(SplittableGenerator delegate, boolean antithetic) {
+        this.delegate = delegate;
+        this.antithetic = antithetic;
+    }
+
+    @Override
+    public long nextLong() {
+        long bits = delegate.nextLong();
+        return antithetic ? ~bits : bits;
+    }
+
+    @Override
+    public double nextDouble() {
+        double u = delegate.nextDouble();
+        // u is a multiple of 2^-53 below 1, so the difference is exact and never reaches 1
+        return antithetic ? Math.nextDown(1.0) - u : u;
+    }
+
+    @Override
+    public double nextExponential() {
+        // 1 - nextDouble() lies in (0, 1], so the logarithm is finite
+        return -Math.log(1.0 - nextDouble());
+    }
+
+    @Override
+    public double nextGaussian() {
+        double u;
+        do {
+            u = nextDouble();
+        } while (u == 0.0);
+        return StudentT.normalQuantile(u);
+    }
+
+    @Override
+    public AntitheticRandom split() {
+        return new AntitheticRandom(delegate.split(), antithetic);
+    }
+
+    @Override
+    public AntitheticRandom split(SplittableGenerator source) {
+        return new AntitheticRandom(delegate.split(source), antithetic);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return delegate.splits(streamSize).map(stream -> new AntitheticRandom(stream, antithetic));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return delegate.splits(source).map(stream -> new AntitheticRandom(stream, antithetic));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        return delegate.splits(streamSize, source).map(stream -> new AntitheticRandom(stream, antithetic));
+    }
+}
@@ -0,0 +1,68 @@
+package uni.architect.SystemArchitect.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Number of requests brought by one arrival, at least 1: a fixed size, a geometric size (the tail
+ * of bulk payment files) or an arbitrary table through an alias table.
+ */
+public class BatchSize {
+    private final int fixed;
+    // log(1 - p) of the geometric size, 0 when the size is not geometric
+    private final double geometricLog;
+    // index i stands for size i + 1
+    private final AliasTable table;
+    private final double mean;
+
+    private BatchSize(int fixed, double geometricLog, AliasTable table, double mean) {
+        this.fixed = fixed;
+        this.geometricLog = geometricLog;
+        this.table = table;
+        this.mean = mean;
+    }
+
+    public static BatchSize fixed(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + size);
+        }
+        return new BatchSize(size, 0, null, size);
+    }
+
+    /**
+     * Sizes 1, 2, ... with P(k) = p (1 - p)^(k - 1), p = 1 / mean.
+     */
+    public static BatchSize geometric(double mean) {
+        if (!(mean >= 1) || Double.isInfinite(mean)) {
+            throw new IllegalArgumentException("Mean batch size must be at least 1, got " + mean);
+        }
+        return mean == 1 ? fixed(1) : new BatchSize(1, Math.log1p(-1 / mean), null, mean);
+    }
+
+    /**
+     * @param weights weight of size {@code i + 1} at index {@code i}
+     */
+    public static BatchSize of(double[] weights) {
+        AliasTable table = new AliasTable(weights);
+        double mean = 0;
+        for (int i = 0; i < weights.length; i++) {
+            mean += (i + 1) * table.getProbability(i);
+        }
+        return new BatchSize(1, 0, table, mean);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public int sample(RandomGenerator rand) {
+        if (table != null) {
+            return 1 + table.sample(rand);
+        }
+        if (geometricLog != 0) {
+            // inversion; 1 - nextDouble() lies in (0, 1]
+            double size = 1 + Math.floor(Math.log(1 - rand.nextDouble()) / geometricLog);
+            return size >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+        }
+        return fixed;
+    }
+}
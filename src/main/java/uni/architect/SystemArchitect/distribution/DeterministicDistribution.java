@@ -0,0 +1,29 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+@Getter
+public class DeterministicDistribution implements Distribution {
+    private final double value;
+
+    public DeterministicDistribution(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        return value;
+    }
+
+    @Override
+    public double getMean() {
+        return value;
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        return new DeterministicDistribution(value * factor);
+    }
+}
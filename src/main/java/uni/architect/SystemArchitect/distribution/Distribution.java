@@ -0,0 +1,33 @@
+package uni.architect.SystemArchitect.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Non-negative random variable used for inter-arrival and service times. Implementations are
+ * immutable and keep their precomputed tables, so one instance can be shared by every generator,
+ * worker and replication; all randomness comes from the caller's stream.
+ */
+public interface Distribution {
+    double sample(RandomGenerator rand);
+
+    double getMean();
+
+    /**
+     * @return the same shape multiplied by {@code factor}, sharing any precomputed tables
+     */
+    Distribution scaled(double factor);
+
+    default Distribution withMean(double mean) {
+        return mean == getMean() ? this : scaled(mean / getMean());
+    }
+
+    /**
+     * Likelihood-ratio score of a sample: the derivative of the log density at {@code x} with respect
+     * to the mean, the shape being rescaled as in {@link #withMean(double)}.
+     *
+     * @return NaN when the distribution has no density
+     */
+    default double meanScore(double x) {
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,61 @@
+package uni.architect.SystemArchitect.distribution;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Discrete distribution over observed values, sampled in O(1) through an alias table. Scaled
+ * copies share both the table and the value array.
+ */
+public class EmpiricalDistribution implements Distribution {
+    private final AliasTable table;
+    private final double[] values;
+    private final double scale;
+    private final double mean;
+
+    public EmpiricalDistribution(double[] values, double[] weights) {
+        this(new AliasTable(weights), checkedCopy(values, weights.length), 1.0);
+    }
+
+    private EmpiricalDistribution(AliasTable table, double[] values, double scale) {
+        this.table = table;
+        this.values = values;
+        this.scale = scale;
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += table.getProbability(i) * values[i];
+        }
+        this.mean = sum * scale;
+    }
+
+    private static double[] checkedCopy(double[] values, int weights) {
+        if (values.length != weights) {
+            throw new IllegalArgumentException("Got " + weights + " weights for " + values.length + " values");
+        }
+        return values.clone();
+    }
+
+    /**
+     * Every sample gets the same weight, e.g. service times measured on a real system.
+     */
+    public static EmpiricalDistribution ofSamples(double[] samples) {
+        double[] weights = new double[samples.length];
+        Arrays.fill(weights, 1.0);
+        return new EmpiricalDistribution(samples, weights);
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        return values[table.sample(rand)] * scale;
+    }
+
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        return new EmpiricalDistribution(table, values, scale * factor);
+    }
+}
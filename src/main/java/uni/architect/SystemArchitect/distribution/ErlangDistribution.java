@@ -0,0 +1,44 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Sum of {@code phases} exponential phases with the given total mean (coefficient of variation
+ * 1/sqrt(k)).
+ */
+@Getter
+public class ErlangDistribution implements Distribution {
+    private final int phases;
+    private final double mean;
+    private final double phaseMean;
+
+    public ErlangDistribution(int phases, double mean) {
+        if (phases < 1) {
+            throw new IllegalArgumentException("Erlang distribution needs at least one phase, got " + phases);
+        }
+        this.phases = phases;
+        this.mean = mean;
+        this.phaseMean = mean / phases;
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        double sum = 0;
+        for (int i = 0; i < phases; i++) {
+            sum += rand.nextExponential();
+        }
+        return sum * phaseMean;
+    }
+
+    @Override
+    public double meanScore(double x) {
+        return phases * (x - mean) / (mean * mean);
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        return new ErlangDistribution(phases, mean * factor);
+    }
+}
@@ -0,0 +1,32 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Uses {@link RandomGenerator#nextExponential()}, which is the ziggurat-based sampler of the JDK.
+ */
+@Getter
+public class ExponentialDistribution implements Distribution {
+    private final double mean;
+
+    public ExponentialDistribution(double mean) {
+        this.mean = mean;
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        return rand.nextExponential() * mean;
+    }
+
+    @Override
+    public double meanScore(double x) {
+        return (x - mean) / (mean * mean);
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        return new ExponentialDistribution(mean * factor);
+    }
+}
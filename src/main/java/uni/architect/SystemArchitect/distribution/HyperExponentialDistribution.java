@@ -0,0 +1,86 @@
+package uni.architect.SystemArchitect.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Mixture of exponential phases: phase {@code i} is chosen with probability {@code p[i]} through an
+ * alias table and has mean {@code means[i]}.
+ */
+public class HyperExponentialDistribution implements Distribution {
+    private final AliasTable phases;
+    private final double[] means;
+    private final double mean;
+
+    public HyperExponentialDistribution(double[] probabilities, double[] means) {
+        this(new AliasTable(probabilities), checkedCopy(means, probabilities.length));
+    }
+
+    private HyperExponentialDistribution(AliasTable phases, double[] means) {
+        this.phases = phases;
+        this.means = means;
+        double sum = 0;
+        for (int i = 0; i < means.length; i++) {
+            sum += phases.getProbability(i) * means[i];
+        }
+        this.mean = sum;
+    }
+
+    private static double[] checkedCopy(double[] means, int phases) {
+        if (means.length != phases) {
+            throw new IllegalArgumentException("Got " + phases + " probabilities for " + means.length + " phases");
+        }
+        return means.clone();
+    }
+
+    /**
+     * Two balanced phases (p1 m1 = p2 m2) with the given mean and squared coefficient of variation
+     * {@code scv >= 1}.
+     */
+    public static HyperExponentialDistribution balanced(double mean, double scv) {
+        if (scv < 1) {
+            throw new IllegalArgumentException("Hyperexponential distribution needs scv >= 1, got " + scv);
+        }
+        double p = 0.5 * (1 + Math.sqrt((scv - 1) / (scv + 1)));
+        return new HyperExponentialDistribution(new double[]{p, 1 - p},
+                new double[]{mean / (2 * p), mean / (2 * (1 - p))});
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        return rand.nextExponential() * means[phases.sample(rand)];
+    }
+
+    @Override
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Scale-family score {@code -(1 + x g'(x) / g(x)) / mean}; the phase terms are taken relative to
+     * the slowest-decaying one so that large samples do not underflow.
+     */
+    @Override
+    public double meanScore(double x) {
+        double maxExponent = Double.NEGATIVE_INFINITY;
+        for (double phaseMean : means) {
+            maxExponent = Math.max(maxExponent, -x / phaseMean);
+        }
+        double density = 0;
+        double slope = 0;
+        for (int i = 0; i < means.length; i++) {
+            double term = phases.getProbability(i) * Math.exp(-x / means[i] - maxExponent) / means[i];
+            density += term;
+            slope += term / means[i];
+        }
+        return (x * slope / density - 1) / mean;
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        double[] scaledMeans = new double[means.length];
+        for (int i = 0; i < means.length; i++) {
+            scaledMeans[i] = means[i] * factor;
+        }
+        return new HyperExponentialDistribution(phases, scaledMeans);
+    }
+}
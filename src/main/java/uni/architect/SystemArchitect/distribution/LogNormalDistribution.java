@@ -0,0 +1,48 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * {@code exp(mu + sigma Z)}; the normal variate comes from {@link RandomGenerator#nextGaussian()},
+ * which is ziggurat-based in the JDK.
+ */
+@Getter
+public class LogNormalDistribution implements Distribution {
+    private final double mu;
+    private final double sigma;
+
+    public LogNormalDistribution(double mu, double sigma) {
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    /**
+     * @param cv coefficient of variation (standard deviation divided by the mean)
+     */
+    public static LogNormalDistribution ofMean(double mean, double cv) {
+        double sigma2 = Math.log1p(cv * cv);
+        return new LogNormalDistribution(Math.log(mean) - sigma2 / 2, Math.sqrt(sigma2));
+    }
+
+    @Override
+    public double sample(RandomGenerator rand) {
+        return Math.exp(mu + sigma * rand.nextGaussian());
+    }
+
+    @Override
+    public double getMean() {
+        return Math.exp(mu + sigma * sigma / 2);
+    }
+
+    @Override
+    public double meanScore(double x) {
+        return (Math.log(x) - mu) / (sigma * sigma * getMean());
+    }
+
+    @Override
+    public Distribution scaled(double factor) {
+        return new LogNormalDistribution(mu + Math.log(factor), sigma);
+    }
+}
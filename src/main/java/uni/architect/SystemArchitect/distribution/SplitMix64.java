@@ -0,0 +1,86 @@
+package uni.architect.SystemArchitect.distribution;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * The SplitMix64 algorithm of {@link java.util.SplittableRandom}, producing the same numbers and
+ * the same split streams for the same seed, but with its two-word state exposed so that a running
+ * simulation can be saved and resumed.
+ */
+@Getter
+public class SplitMix64 implements RandomGenerator.SplittableGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private final long gamma;
+
+    public SplitMix64(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    public SplitMix64(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public SplitMix64 split(SplittableGenerator source) {
+        return new SplitMix64(source.nextLong(), mixGamma(source.nextLong()));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return Stream.<SplittableGenerator>generate(this::split).limit(streamSize);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return Stream.generate(() -> split(source));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        return Stream.<SplittableGenerator>generate(() -> split(source)).limit(streamSize);
+    }
+}
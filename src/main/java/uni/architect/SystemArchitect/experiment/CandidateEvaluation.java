@@ -0,0 +1,79 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SlaTargets;
+import uni.architect.SystemArchitect.analytic.AnalyticEstimate;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+
+@Getter
+@AllArgsConstructor
+public class CandidateEvaluation {
+    public enum Verdict {
+        PASS,
+        FAIL,
+        UNDECIDED
+    }
+
+    private SimulationConfig config;
+    private ReplicationSummary summary;
+    // analytic pre-screening result, null when screening is off
+    private AnalyticEstimate estimate;
+    // rejected by the estimate without any simulation
+    private boolean screenedOut;
+
+    public Verdict kpdVerdict(SlaTargets sla) {
+        ConfidenceInterval kpd = summary.getKpdInterval();
+        return verdict(kpd.getLower() >= sla.getMinKpd(), kpd.getUpper() < sla.getMinKpd());
+    }
+
+    public Verdict declineVerdict(SlaTargets sla) {
+        if (screenedOut) {
+            return Verdict.FAIL;
+        }
+        boolean allPass = true;
+        for (int source = 0; source < summary.getNumSources(); source++) {
+            ConfidenceInterval decline = summary.getDeclineInterval(source);
+            double target = sla.getMaxDeclineProbability(source);
+            if (decline.getLower() > target) {
+                return Verdict.FAIL;
+            }
+            allPass &= decline.getUpper() <= target;
+        }
+        return allPass ? Verdict.PASS : Verdict.UNDECIDED;
+    }
+
+    /**
+     * Verdict used once the replication budget is exhausted: compare the means with the targets.
+     */
+    public boolean meetsKpdByMean(SlaTargets sla) {
+        return summary.getKpd().getMean() >= sla.getMinKpd();
+    }
+
+    public boolean meetsDeclineByMean(SlaTargets sla) {
+        for (int source = 0; source < summary.getNumSources(); source++) {
+            if (summary.getDeclineProbability()[source].getMean() > sla.getMaxDeclineProbability(source)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean meetsKpd(SlaTargets sla) {
+        Verdict verdict = kpdVerdict(sla);
+        return verdict == Verdict.UNDECIDED ? meetsKpdByMean(sla) : verdict == Verdict.PASS;
+    }
+
+    public boolean meetsDecline(SlaTargets sla) {
+        if (screenedOut) {
+            return false;
+        }
+        Verdict verdict = declineVerdict(sla);
+        return verdict == Verdict.UNDECIDED ? meetsDeclineByMean(sla) : verdict == Verdict.PASS;
+    }
+
+    private static Verdict verdict(boolean pass, boolean fail) {
+        return pass ? Verdict.PASS : fail ? Verdict.FAIL : Verdict.UNDECIDED;
+    }
+}
@@ -0,0 +1,204 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.Getter;
+import lombok.Setter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SlaTargets;
+import uni.architect.SystemArchitect.analytic.AnalyticEstimate;
+import uni.architect.SystemArchitect.analytic.BirthDeathApproximation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Searches the (numWorkers, bufferCapacity[, maxProcessingTime]) grid for the Pareto-minimal
+ * configurations that meet the SLA.
+ * <p>
+ * Decline probabilities only go down when workers or buffer places are added, and utilisation only
+ * goes down with more workers, so for every worker count the smallest sufficient buffer is found by
+ * binary search below the bound of the previous row, and the scan stops as soon as extra workers can
+ * no longer improve anything. Every candidate is replicated in batches until its confidence
+ * intervals clearly pass or fail the targets.
+ * <p>
+ * Before simulating, candidates are screened analytically ({@link BirthDeathApproximation}): rows
+ * whose offered load cannot reach the utilisation target are not visited at all, and candidates
+ * whose total decline probability exceeds {@code screeningMargin} times the sum of the per-source
+ * limits are rejected without replications. The second screen only applies to the Markovian model
+ * ({@link BirthDeathApproximation#isMarkovian}), where that total is exact, so the margin only has
+ * to absorb the simulation noise; for smoother or burstier inputs the M/M/c/K loss is no bound in
+ * either direction (deterministic intervals with many workers lose far less than Poisson ones)
+ * and every candidate is simulated.
+ */
+public class ConfigurationSearch {
+    private final ReplicationRunner runner;
+    private final SlaTargets sla;
+    private final long seed;
+
+    @Setter
+    private int batchReplications = 8;
+    @Setter
+    private int maxReplications = 64;
+    @Setter
+    private boolean analyticScreening = true;
+    @Setter
+    private double screeningMargin = 3.0;
+
+    private final Map<String, CandidateEvaluation> evaluations = new HashMap<>();
+    @Getter
+    private long replicationsRun = 0;
+    @Getter
+    private long screenedCandidates = 0;
+
+    public ConfigurationSearch(ReplicationRunner runner, SlaTargets sla, long seed) {
+        this.runner = runner;
+        this.sla = sla;
+        this.seed = seed;
+    }
+
+    public int getEvaluatedCandidates() {
+        return evaluations.size();
+    }
+
+    public List<CandidateEvaluation> search(SimulationConfig base, SearchSpace space) {
+        List<Double> processingTimes = space.getMaxProcessingTimes().isEmpty()
+                ? List.of(base.getMaxProcessingTime())
+                : space.getMaxProcessingTimes();
+
+        List<CandidateEvaluation> feasible = new ArrayList<>();
+        for (double processingTime : processingTimes) {
+            feasible.addAll(searchRows(base.toBuilder().maxProcessingTime(processingTime).build(), space));
+        }
+        return paretoMinimal(feasible);
+    }
+
+    private List<CandidateEvaluation> searchRows(SimulationConfig base, SearchSpace space) {
+        List<CandidateEvaluation> feasible = new ArrayList<>();
+        int minBuffer = space.getMinBufferCapacity();
+        int maxBuffer = space.getMaxBufferCapacity();
+        int bufferBound = maxBuffer;
+
+        for (int workers = space.getMinWorkers(); workers <= space.getMaxWorkers(); workers++) {
+            // the utilisation bound only drops with more workers, so no further row can pass either
+            if (analyticScreening
+                    && BirthDeathApproximation.maxKpd(base.toBuilder().numWorkers(workers).build()) < sla.getMinKpd()) {
+                break;
+            }
+            if (!evaluate(base, workers, bufferBound).meetsDecline(sla)) {
+                continue;
+            }
+
+            int low = minBuffer;
+            int high = bufferBound;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (evaluate(base, workers, mid).meetsDecline(sla)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            bufferBound = low;
+
+            CandidateEvaluation candidate = evaluate(base, workers, low);
+            if (!candidate.meetsKpd(sla)) {
+                // utilisation only drops with more workers, so no further row can pass
+                if (!evaluate(base, workers, maxBuffer).meetsKpd(sla)) {
+                    break;
+                }
+                int kpdLow = low + 1;
+                int kpdHigh = maxBuffer;
+                while (kpdLow < kpdHigh) {
+                    int mid = (kpdLow + kpdHigh) >>> 1;
+                    if (evaluate(base, workers, mid).meetsKpd(sla)) {
+                        kpdHigh = mid;
+                    } else {
+                        kpdLow = mid + 1;
+                    }
+                }
+                candidate = evaluate(base, workers, kpdLow);
+            }
+            feasible.add(candidate);
+
+            // extra workers cannot shrink the buffer any further
+            if (bufferBound == minBuffer) {
+                break;
+            }
+        }
+        return feasible;
+    }
+
+    private CandidateEvaluation evaluate(SimulationConfig base, int workers, int bufferCapacity) {
+        String key = workers + "/" + bufferCapacity + "/" + base.getMaxProcessingTime();
+        CandidateEvaluation cached = evaluations.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        SimulationConfig config = base.toBuilder()
+                .numWorkers(workers)
+                .bufferCapacity(bufferCapacity)
+                .build();
+        ReplicationSummary summary = ReplicationSummary.of(List.of());
+        AnalyticEstimate estimate = analyticScreening ? BirthDeathApproximation.estimate(config) : null;
+        if (estimate != null && BirthDeathApproximation.isMarkovian(config)
+                && estimate.getFullProbability()
+                > screeningMargin * sla.getTotalMaxDeclineProbability(config.getNumGenerators())) {
+            CandidateEvaluation rejected = new CandidateEvaluation(config, summary, estimate, true);
+            screenedCandidates++;
+            evaluations.put(key, rejected);
+            return rejected;
+        }
+        CandidateEvaluation evaluation = new CandidateEvaluation(config, summary, estimate, false);
+
+        int done = 0;
+        while (done < maxReplications) {
+            int batch = Math.min(batchReplications, maxReplications - done);
+            runner.runAll(config, batch, seed, done).forEach(summary::add);
+            done += batch;
+
+            CandidateEvaluation.Verdict decline = evaluation.declineVerdict(sla);
+            if (decline == CandidateEvaluation.Verdict.FAIL
+                    || (decline == CandidateEvaluation.Verdict.PASS
+                    && evaluation.kpdVerdict(sla) != CandidateEvaluation.Verdict.UNDECIDED)) {
+                break;
+            }
+        }
+        replicationsRun += done;
+        evaluations.put(key, evaluation);
+        return evaluation;
+    }
+
+    private static List<CandidateEvaluation> paretoMinimal(List<CandidateEvaluation> candidates) {
+        List<CandidateEvaluation> result = new ArrayList<>();
+        for (CandidateEvaluation candidate : candidates) {
+            boolean dominated = false;
+            for (CandidateEvaluation other : candidates) {
+                if (other != candidate && dominates(other.getConfig(), candidate.getConfig())) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                result.add(candidate);
+            }
+        }
+        result.sort(Comparator.comparingInt((CandidateEvaluation c) -> c.getConfig().getNumWorkers())
+                .thenComparingInt(c -> c.getConfig().getBufferCapacity())
+                .thenComparing(c -> -c.getConfig().getMaxProcessingTime()));
+        return result;
+    }
+
+    // fewer workers, fewer buffer places and slower (cheaper) service are all better
+    private static boolean dominates(SimulationConfig a, SimulationConfig b) {
+        boolean noWorse = a.getNumWorkers() <= b.getNumWorkers()
+                && a.getBufferCapacity() <= b.getBufferCapacity()
+                && a.getMaxProcessingTime() >= b.getMaxProcessingTime();
+        boolean better = a.getNumWorkers() < b.getNumWorkers()
+                || a.getBufferCapacity() < b.getBufferCapacity()
+                || a.getMaxProcessingTime() > b.getMaxProcessingTime();
+        return noWorse && better;
+    }
+}
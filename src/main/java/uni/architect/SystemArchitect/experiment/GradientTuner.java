@@ -0,0 +1,137 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.Getter;
+import lombok.Setter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.SlaTargets;
+import uni.architect.SystemArchitect.sensitivity.Sensitivity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds, for every worker count of the search space, the largest (cheapest) {@code maxProcessingTime}
+ * that keeps every decline probability within its target, by Newton steps on the binding source in
+ * log scale. The derivatives come from the same replications as the probabilities
+ * ({@link uni.architect.SystemArchitect.sensitivity.GradientEstimator}), so a worker count usually
+ * takes three or four rounds instead of a sweep over a grid of service times. Every round reuses the
+ * same seeds, which keeps the steps from chasing noise.
+ * <p>
+ * Utilisation grows with the service time, so the row is feasible iff the utilisation target is met
+ * at that largest service time.
+ * <p>
+ * The buffer capacity stays that of the base configuration and the buffer bounds of the search
+ * space are ignored. The capacity is an integer, and the estimator has no derivative for it, so
+ * it cannot be tuned by Newton steps. A binary search over it at the tuned service time would also
+ * be pointless: the binding target is met only just there, so any smaller buffer fails it. Trading
+ * buffer places for service speed needs a full tuning per capacity. To search over capacities at a
+ * fixed service time, use {@link ConfigurationSearch}.
+ */
+public class GradientTuner {
+    // the likelihood-ratio window in mean service times
+    private static final double HORIZON_SERVICE_TIMES = 20;
+    private static final double MAX_STEP_FACTOR = 2;
+
+    private final ReplicationRunner runner;
+    private final SlaTargets sla;
+    private final long seed;
+
+    @Setter
+    private int replications = 8;
+    @Setter
+    private int maxIterations = 8;
+    // accepted relative gap between the binding decline probability and its target
+    @Setter
+    private double tolerance = 0.1;
+
+    @Getter
+    private long replicationsRun = 0;
+
+    public GradientTuner(ReplicationRunner runner, SlaTargets sla, long seed) {
+        this.runner = runner;
+        this.sla = sla;
+        this.seed = seed;
+    }
+
+    public List<TuningResult> tune(SimulationConfig base, SearchSpace space) {
+        List<TuningResult> results = new ArrayList<>();
+        double processingTime = base.getMaxProcessingTime();
+        for (int workers = space.getMinWorkers(); workers <= space.getMaxWorkers(); workers++) {
+            TuningResult result = tune(base.toBuilder().numWorkers(workers).build(), processingTime);
+            results.add(result);
+            // the same load per worker is a good first guess for the next row
+            processingTime = result.getConfig().getMaxProcessingTime() * (workers + 1) / workers;
+        }
+        return results;
+    }
+
+    private TuningResult tune(SimulationConfig base, double processingTime) {
+        TuningResult best = null;
+        TuningResult last = null;
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            last = evaluate(base.toBuilder()
+                    .maxProcessingTime(processingTime)
+                    .sensitivityHorizon(HORIZON_SERVICE_TIMES * processingTime)
+                    .build(), iteration);
+            ReplicationSummary summary = last.getSummary();
+
+            int binding = -1;
+            double worstRatio = 0;
+            for (int source = 0; source < summary.getNumSources(); source++) {
+                if (!sla.hasDeclineTarget(source)) {
+                    continue;
+                }
+                double ratio = summary.getDeclineProbability()[source].getMean() / sla.getMaxDeclineProbability(source);
+                if (binding < 0 || ratio > worstRatio) {
+                    binding = source;
+                    worstRatio = ratio;
+                }
+            }
+            if (binding < 0) {
+                break;
+            }
+            if (worstRatio <= 1 && (best == null || processingTime > best.getConfig().getMaxProcessingTime())) {
+                best = last;
+            }
+            if (worstRatio <= 1 && worstRatio >= 1 - tolerance) {
+                break;
+            }
+
+            double probability = summary.getDeclineProbability()[binding].getMean();
+            double derivative = last.getDeclineByServiceTime()[binding];
+            double next;
+            if (probability > 0 && derivative > 0) {
+                // Newton on log P, which is much closer to linear than P itself
+                double target = sla.getMaxDeclineProbability(binding) * (1 - tolerance / 2);
+                next = processingTime + Math.log(target / probability) * probability / derivative;
+            } else {
+                next = worstRatio > 1 ? processingTime / MAX_STEP_FACTOR : processingTime * MAX_STEP_FACTOR;
+            }
+            processingTime = Math.min(Math.max(next, processingTime / MAX_STEP_FACTOR), processingTime * MAX_STEP_FACTOR);
+        }
+
+        TuningResult result = best != null ? best : last;
+        boolean feasible = best != null && result.getSummary().getKpd().getMean() >= sla.getMinKpd();
+        return new TuningResult(result.getConfig(), result.getSummary(), result.getKpdByServiceTime(),
+                result.getDeclineByServiceTime(), feasible, last.getIterations());
+    }
+
+    private TuningResult evaluate(SimulationConfig config, int iteration) {
+        List<SimulationResult> results = runner.runAll(config, replications, seed, 0);
+        replicationsRun += results.size();
+
+        int numSources = config.getNumGenerators();
+        double kpdByServiceTime = 0;
+        double[] declineByServiceTime = new double[numSources];
+        for (SimulationResult result : results) {
+            Sensitivity sensitivity = result.getSensitivity();
+            kpdByServiceTime += sensitivity.getKpdByServiceTime() / results.size();
+            for (int source = 0; source < numSources; source++) {
+                declineByServiceTime[source] += sensitivity.getDeclineByServiceTime(source) / results.size();
+            }
+        }
+        return new TuningResult(config, ReplicationSummary.of(results), kpdByServiceTime, declineByServiceTime,
+                false, iteration);
+    }
+}
@@ -0,0 +1,91 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+
+/**
+ * Paired comparison of two configurations: replication {@code i} of both runs on the same random
+ * streams (common random numbers), and the confidence intervals are built over the per-replication
+ * differences {@code B - A}. With antithetic pairs every observation is the average of a replication
+ * and its antithetic twin.
+ */
+@Getter
+public class PairedComparison {
+    private final SimulationConfig first;
+    private final SimulationConfig second;
+    private final boolean antithetic;
+    private int replications = 0;
+    private final SummaryStatistics kpdDifference = new SummaryStatistics();
+    private final SummaryStatistics[] firstDecline;
+    private final SummaryStatistics[] secondDecline;
+    private final SummaryStatistics[] declineDifference;
+
+    public PairedComparison(SimulationConfig first, SimulationConfig second, boolean antithetic) {
+        this.first = first;
+        this.second = second;
+        this.antithetic = antithetic;
+        int numSources = first.getNumGenerators();
+        this.firstDecline = newStatistics(numSources);
+        this.secondDecline = newStatistics(numSources);
+        this.declineDifference = newStatistics(numSources);
+    }
+
+    private static SummaryStatistics[] newStatistics(int count) {
+        SummaryStatistics[] statistics = new SummaryStatistics[count];
+        for (int i = 0; i < count; i++) {
+            statistics[i] = new SummaryStatistics();
+        }
+        return statistics;
+    }
+
+    public void add(SimulationResult a, SimulationResult b) {
+        replications++;
+        kpdDifference.add(b.getKpd() - a.getKpd());
+        for (int i = 0; i < declineDifference.length; i++) {
+            addDecline(i, a.getDeclineProbability(i), b.getDeclineProbability(i));
+        }
+    }
+
+    /**
+     * Adds one observation made of a replication and its antithetic twin for both configurations.
+     */
+    public void add(SimulationResult a, SimulationResult antitheticA, SimulationResult b, SimulationResult antitheticB) {
+        replications++;
+        kpdDifference.add((b.getKpd() + antitheticB.getKpd() - a.getKpd() - antitheticA.getKpd()) / 2);
+        for (int i = 0; i < declineDifference.length; i++) {
+            addDecline(i, (a.getDeclineProbability(i) + antitheticA.getDeclineProbability(i)) / 2,
+                    (b.getDeclineProbability(i) + antitheticB.getDeclineProbability(i)) / 2);
+        }
+    }
+
+    private void addDecline(int source, double a, double b) {
+        firstDecline[source].add(a);
+        secondDecline[source].add(b);
+        declineDifference[source].add(b - a);
+    }
+
+    public int getNumSources() {
+        return declineDifference.length;
+    }
+
+    public ConfidenceInterval getKpdDifferenceInterval() {
+        return kpdDifference.confidenceInterval(ReplicationSummary.CONFIDENCE_LEVEL);
+    }
+
+    public ConfidenceInterval getDeclineDifferenceInterval(int source) {
+        return declineDifference[source].confidenceInterval(ReplicationSummary.CONFIDENCE_LEVEL);
+    }
+
+    /**
+     * How many times fewer observations the paired estimate needs than two independent runs for
+     * the same interval width: {@code (Var A + Var B) / Var(B - A)}.
+     */
+    public double getDeclineVarianceReduction(int source) {
+        double independent = firstDecline[source].getVariance() + secondDecline[source].getVariance();
+        double paired = declineDifference[source].getVariance();
+        return paired > 0 ? independent / paired : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,19 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+
+@Getter
+@AllArgsConstructor
+public class RareEventEstimate {
+    // decline probability of the source from the weighted splitting estimator
+    private ConfidenceInterval restart;
+    // the same probability from the root trajectories alone, i.e. plain simulation of equal length
+    private ConfidenceInterval crude;
+    // events processed by all trajectories, and by the root trajectories only
+    private long events;
+    private long crudeEvents;
+    // splitting factor applied when the importance reaches each level, index 0 = level 1
+    private int[] splits;
+}
@@ -0,0 +1,163 @@
+package uni.architect.SystemArchitect.experiment;
+
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.Simulator;
+import uni.architect.SystemArchitect.distribution.AntitheticRandom;
+import uni.architect.SystemArchitect.lockstep.LockstepSimulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs independent replications of one configuration in parallel. Every replication gets its own
+ * random stream split from the master seed in replication order, and results are aggregated in the
+ * same order, so the summary depends only on the seed and not on the number of threads.
+ */
+public class ReplicationRunner implements AutoCloseable {
+    private final ForkJoinPool pool;
+
+    public ReplicationRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ReplicationRunner(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public ReplicationSummary run(SimulationConfig config, int replications, long masterSeed) {
+        return ReplicationSummary.of(runAll(config, replications, masterSeed, 0));
+    }
+
+    /**
+     * Runs replications {@code first .. first + count - 1} of the stream derived from the master
+     * seed, so a sequence of batches yields the same results as a single call.
+     */
+    public List<SimulationResult> runAll(SimulationConfig config, int count, long masterSeed, int first) {
+        SplittableRandom master = master(masterSeed, first);
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SplittableRandom stream = master.split();
+            tasks.add(() -> Simulator.create(config, stream, true, false).simulate(config.getSimulationTime()));
+        }
+
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Same replications and results as {@link #runAll}, computed by the lock-step engine with
+     * {@code lanes} replications per task; for the configurations {@link LockstepSimulator} supports.
+     */
+    public List<SimulationResult> runLockstep(SimulationConfig config, int count, long masterSeed, int first, int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("The lock-step engine needs at least one lane, got " + lanes);
+        }
+        SplittableRandom master = master(masterSeed, first);
+        List<Callable<List<SimulationResult>>> tasks = new ArrayList<>();
+        for (int from = 0; from < count; from += lanes) {
+            List<SplittableRandom> streams = new ArrayList<>(lanes);
+            for (int i = from; i < Math.min(count, from + lanes); i++) {
+                streams.add(master.split());
+            }
+            tasks.add(() -> new LockstepSimulator(config, lanes).run(streams));
+        }
+
+        List<SimulationResult> results = new ArrayList<>(count);
+        invokeAll(tasks).forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Same replications and results as {@link #runAll}, computed one after another in the calling
+     * thread, for callers that parallelise over configurations instead.
+     */
+    public static List<SimulationResult> runSequential(SimulationConfig config, int count, long masterSeed,
+                                                       int first) {
+        SplittableRandom master = master(masterSeed, first);
+        List<SimulationResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(Simulator.create(config, master.split(), true, false).simulate(config.getSimulationTime()));
+        }
+        return results;
+    }
+
+    // master stream positioned before the stream of replication number first
+    private static SplittableRandom master(long masterSeed, int first) {
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        for (int i = 0; i < first; i++) {
+            master.split();
+        }
+        return master;
+    }
+
+    /**
+     * Runs both configurations on common random numbers: replication {@code i} of each uses the same
+     * seed, and service times are drawn per request from the sources' streams. With
+     * {@code antithetic} every replication is also repeated on the complementary uniforms.
+     */
+    public PairedComparison compare(SimulationConfig first, SimulationConfig second, int replications,
+                                    long masterSeed, boolean antithetic) {
+        SimulationConfig a = first.toBuilder().commonRandomNumbers(true).build();
+        SimulationConfig b = second.toBuilder().commonRandomNumbers(true).build();
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        int runsPerReplication = antithetic ? 4 : 2;
+
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(replications * runsPerReplication);
+        for (int i = 0; i < replications; i++) {
+            long seed = master.split().nextLong();
+            tasks.add(pairedRun(a, seed, antithetic, false));
+            tasks.add(pairedRun(b, seed, antithetic, false));
+            if (antithetic) {
+                tasks.add(pairedRun(a, seed, true, true));
+                tasks.add(pairedRun(b, seed, true, true));
+            }
+        }
+
+        List<SimulationResult> results = invokeAll(tasks);
+        PairedComparison comparison = new PairedComparison(first, second, antithetic);
+        for (int i = 0; i < results.size(); i += runsPerReplication) {
+            if (antithetic) {
+                comparison.add(results.get(i), results.get(i + 2), results.get(i + 1), results.get(i + 3));
+            } else {
+                comparison.add(results.get(i), results.get(i + 1));
+            }
+        }
+        return comparison;
+    }
+
+    private static Callable<SimulationResult> pairedRun(SimulationConfig config, long seed, boolean inversion,
+                                                        boolean complement) {
+        return () -> {
+            RandomGenerator stream = inversion
+                    ? new AntitheticRandom(new SplittableRandom(seed), complement)
+                    : new SplittableRandom(seed);
+            return Simulator.create(config, stream, true, false).simulate(config.getSimulationTime());
+        };
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replications were interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replication failed", e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.stats.ConfidenceInterval;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ReplicationSummary {
+    public static final double CONFIDENCE_LEVEL = 0.95;
+
+    private int replications;
+    private SummaryStatistics kpd;
+    private SummaryStatistics[] declineProbability;
+
+    public static ReplicationSummary of(List<SimulationResult> results) {
+        ReplicationSummary summary = new ReplicationSummary(0, new SummaryStatistics(), new SummaryStatistics[0]);
+        results.forEach(summary::add);
+        return summary;
+    }
+
+    public void add(SimulationResult result) {
+        if (declineProbability.length == 0) {
+            declineProbability = new SummaryStatistics[result.getNumSources()];
+            for (int i = 0; i < declineProbability.length; i++) {
+                declineProbability[i] = new SummaryStatistics();
+            }
+        }
+
+        replications++;
+        kpd.add(result.getKpd());
+        for (int i = 0; i < declineProbability.length; i++) {
+            declineProbability[i].add(result.getDeclineProbability(i));
+        }
+    }
+
+    public int getNumSources() {
+        return declineProbability.length;
+    }
+
+    public ConfidenceInterval getKpdInterval() {
+        return kpd.confidenceInterval(CONFIDENCE_LEVEL);
+    }
+
+    public ConfidenceInterval getDeclineInterval(int source) {
+        return declineProbability[source].confidenceInterval(CONFIDENCE_LEVEL);
+    }
+}
@@ -0,0 +1,155 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.Setter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.Simulator;
+import uni.architect.SystemArchitect.SimulatorSnapshot;
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+
+/**
+ * RESTART multilevel splitting for the decline probability of a high-priority source. Such a
+ * request is declined only when the buffer is filled with requests of the same or higher priority,
+ * so the importance function is the number of buffered requests of the source and its
+ * predecessors, with one level per value.
+ * <p>
+ * Whenever a trajectory climbs to level {@code k}, {@code R_k - 1} retrials are forked from it with
+ * fresh random streams; a retrial is discarded as soon as it falls below the level it was born on,
+ * while the trajectory that made the climb goes on. A decline at importance {@code k} counts with
+ * weight {@code 1 / (R_1 ... R_k)}, which keeps the estimator unbiased. Splitting factors are tuned
+ * by a pilot run from the observed level-to-level climbing ratios, and the confidence interval is
+ * taken over independent replications.
+ */
+public class RestartEstimator {
+    private final SimulationConfig config;
+    private final int source;
+    private final int capacity;
+
+    @Setter
+    private int maxSplit = 16;
+    @Setter
+    private double pilotTime = 20000;
+    // level transitions seen fewer times than this in the pilot are extrapolated
+    @Setter
+    private int minPilotCrossings = 30;
+
+    private int[] splits;
+    private double[] levelWeight;
+    private long events;
+    private double weightedDeclines;
+
+    public RestartEstimator(SimulationConfig config, int source) {
+        this.config = config;
+        this.source = source;
+        this.capacity = config.getBufferCapacity();
+    }
+
+    public RareEventEstimate estimate(double runTime, int replications, long seed) {
+        SplitMix64 master = new SplitMix64(seed);
+        tuneSplits(master.nextLong());
+
+        double expectedRequests = 0;
+        for (int j = 0; j < config.getNumGenerators(); j++) {
+            expectedRequests += runTime * config.getRequestRate(j, runTime);
+        }
+
+        SummaryStatistics restart = new SummaryStatistics();
+        SummaryStatistics crude = new SummaryStatistics();
+        events = 0;
+        long crudeEvents = 0;
+        for (int replication = 0; replication < replications; replication++) {
+            Simulator root = Simulator.create(config, master.split(), true, false);
+            weightedDeclines = 0;
+            run(root, 0, runTime, master);
+            crudeEvents += root.getEventCount();
+            restart.add(weightedDeclines / expectedRequests);
+            crude.add(root.getDeclined(source) / expectedRequests);
+        }
+        return new RareEventEstimate(restart.confidenceInterval(ReplicationSummary.CONFIDENCE_LEVEL),
+                crude.confidenceInterval(ReplicationSummary.CONFIDENCE_LEVEL), events, crudeEvents, splits.clone());
+    }
+
+    private int importance(Simulator simulator) {
+        int count = 0;
+        for (int j = 0; j <= source; j++) {
+            count += simulator.getBufferCount(j);
+        }
+        return count;
+    }
+
+    /**
+     * Advances one trajectory confined to {@code level} and above until the end of the run; retrials
+     * are explored depth-first, so only one trajectory per level is alive at a time.
+     */
+    private void run(Simulator simulator, int level, double endTime, SplitMix64 seeds) {
+        int current = importance(simulator);
+        while (simulator.getNextEventTime() < endTime) {
+            long declined = simulator.getDeclined(source);
+            simulator.step();
+            events++;
+            if (simulator.getDeclined(source) != declined) {
+                weightedDeclines += (simulator.getDeclined(source) - declined) * levelWeight[current];
+            }
+
+            int next = importance(simulator);
+            if (next < level) {
+                return;
+            }
+            if (next > current) {
+                split(simulator, current + 1, next, endTime, seeds);
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Forks the retrials of a trajectory that has just climbed over levels {@code from .. to} in one
+     * step (a batch arrival can fill several places at once). A retrial born on a lower level has
+     * crossed the higher ones too and is split there again, so {@code R_from ... R_to} copies go on
+     * above {@code to}, matching the weight of their declines.
+     */
+    private void split(Simulator simulator, int from, int to, double endTime, SplitMix64 seeds) {
+        for (int k = from; k <= to; k++) {
+            if (splits[k - 1] > 1) {
+                SimulatorSnapshot snapshot = simulator.snapshot();
+                for (int retrial = 1; retrial < splits[k - 1]; retrial++) {
+                    Simulator copy = snapshot.restore(config, seeds.nextLong());
+                    split(copy, k + 1, to, endTime, seeds);
+                    run(copy, k, endTime, seeds);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets {@code R_k} to the inverse of the estimated probability of climbing from level
+     * {@code k - 1} to {@code k}, measured on an unsplit pilot trajectory.
+     */
+    private void tuneSplits(long pilotSeed) {
+        long[] crossings = new long[capacity + 1];
+        Simulator pilot = Simulator.create(config, new SplitMix64(pilotSeed), true, false);
+        int current = importance(pilot);
+        while (pilot.getNextEventTime() < pilotTime) {
+            pilot.step();
+            int next = importance(pilot);
+            for (int k = current + 1; k <= next; k++) {
+                crossings[k]++;
+            }
+            current = next;
+        }
+
+        splits = new int[capacity];
+        levelWeight = new double[capacity + 1];
+        levelWeight[0] = 1.0;
+        double ratio = 0.5;
+        for (int k = 1; k <= capacity; k++) {
+            if (k >= 2 && crossings[k - 1] >= minPilotCrossings && crossings[k] > 0) {
+                ratio = (double) crossings[k] / crossings[k - 1];
+            }
+            // entering the first level is not rare, beyond the pilot's reach the last ratio is reused
+            int split = k == 1 ? 1 : (int) Math.round(1.0 / ratio);
+            splits[k - 1] = Math.max(1, Math.min(maxSplit, split));
+            levelWeight[k] = levelWeight[k - 1] / splits[k - 1];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SearchSpace {
+    private int minWorkers;
+    private int maxWorkers;
+    private int minBufferCapacity;
+    private int maxBufferCapacity;
+    // empty list means "keep maxProcessingTime of the base configuration"
+    @Builder.Default
+    private List<Double> maxProcessingTimes = List.of();
+}
@@ -0,0 +1,30 @@
+package uni.architect.SystemArchitect.experiment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+
+/**
+ * Slowest service found by {@link GradientTuner} for one worker count, with the replications of the
+ * last feasible iterate and the mean derivatives with respect to {@code maxProcessingTime} there.
+ */
+@Getter
+@AllArgsConstructor
+public class TuningResult {
+    private SimulationConfig config;
+    private ReplicationSummary summary;
+    private double kpdByServiceTime;
+    private double[] declineByServiceTime;
+    // all decline targets met by the means and the utilisation target too
+    private boolean feasible;
+    // simulation rounds spent on this worker count
+    private int iterations;
+
+    /**
+     * @return service time at which the utilisation reaches the target, extrapolated linearly from
+     * the result; smaller than the result's service time when the row is feasible
+     */
+    public double extrapolateKpdServiceTime(double minKpd) {
+        return config.getMaxProcessingTime() + (minKpd - summary.getKpd().getMean()) / kpdByServiceTime;
+    }
+}
@@ -0,0 +1,293 @@
+package uni.architect.SystemArchitect.lockstep;
+
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.model.PriorityRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs many replications of one configuration together in a single thread, one event per
+ * replication ("lane") per sweep. The model state lives in flat arrays indexed by lane instead of
+ * an object graph: the calendar is one time slot per source and per worker, busy workers are a
+ * bitmask, and the buffer keeps only the per-source counts, since requests waiting in it carry no
+ * data the counters need.
+ * <p>
+ * Every lane splits its random streams and orders simultaneous events (by scheduling sequence)
+ * exactly like {@link uni.architect.SystemArchitect.Simulator}, so with the same root stream a lane
+ * reproduces the object model's kpd, request and decline counters bit for bit. Supported: a time
+ * limit, round-robin dispatch, at most 64 workers and sources, no common random numbers, warm-up
+ * truncation or workload logs.
+ */
+public class LockstepSimulator {
+    private final int lanes;
+    private final int numSources;
+    private final int numWorkers;
+    // calendar slots per lane: sources first, then workers
+    private final int slots;
+    private final int capacity;
+    private final double simulationTime;
+    private final Distribution[] arrivals;
+    private final Distribution service;
+
+    private final double[] eventTime;
+    private final long[] eventSequence;
+    private final long[] nextSequence;
+    private final RandomGenerator[] arrivalRand;
+    private final RandomGenerator[] serviceRand;
+
+    private final long[] idleWorkers;
+    private final int[] pointer;
+    private final int[] bufferCounts;
+    private final int[] bufferSize;
+    private final long[] nonEmpty;
+    private final int[] currentPackage;
+
+    private final long[] requests;
+    private final long[] events;
+    private final long[] declined;
+    // per worker, summed in worker order at the end like the object model does
+    private final double[] workTime;
+
+    public LockstepSimulator(SimulationConfig config, int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("The lock-step engine needs at least one lane, got " + lanes);
+        }
+        if (config.getSimulationTime() <= 0) {
+            throw new IllegalArgumentException("The lock-step engine needs a time limit");
+        }
+        if (config.getWorkerSelection() != WorkerSelection.ROUND_ROBIN) {
+            throw new IllegalArgumentException("The lock-step engine supports round robin only, got "
+                    + config.getWorkerSelection());
+        }
+        if (config.isCommonRandomNumbers() || config.getWarmupObservationRequests() > 0 || config.getWorkload() != null
+                || config.getSensitivityHorizon() > 0 || config.getArrivalRate() != null
+                || config.getBatchSizes() != null) {
+            throw new IllegalArgumentException("The lock-step engine does not support common random numbers, "
+                    + "warm-up truncation, workload logs, sensitivities, time-varying rates or batches");
+        }
+        if (config.getNumWorkers() > Long.SIZE || config.getNumGenerators() > PriorityRingBuffer.MAX_SOURCES) {
+            throw new IllegalArgumentException("The lock-step engine supports at most " + Long.SIZE
+                    + " workers and sources");
+        }
+        this.lanes = lanes;
+        this.numSources = config.getNumGenerators();
+        this.numWorkers = config.getNumWorkers();
+        this.slots = numSources + numWorkers;
+        this.capacity = config.getBufferCapacity();
+        this.simulationTime = config.getSimulationTime();
+        this.arrivals = new Distribution[numSources];
+        for (int j = 0; j < numSources; j++) {
+            arrivals[j] = config.getArrivalDistribution(j);
+        }
+        this.service = config.getServiceDistribution();
+
+        eventTime = new double[lanes * slots];
+        eventSequence = new long[lanes * slots];
+        nextSequence = new long[lanes];
+        arrivalRand = new RandomGenerator[lanes * numSources];
+        serviceRand = new RandomGenerator[lanes * numWorkers];
+        idleWorkers = new long[lanes];
+        pointer = new int[lanes];
+        bufferCounts = new int[lanes * numSources];
+        bufferSize = new int[lanes];
+        nonEmpty = new long[lanes];
+        currentPackage = new int[lanes];
+        requests = new long[lanes];
+        events = new long[lanes];
+        declined = new long[lanes * numSources];
+        workTime = new double[lanes * numWorkers];
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Runs one replication per root stream; at most {@link #getLanes()} streams.
+     */
+    public List<SimulationResult> run(List<? extends RandomGenerator.SplittableGenerator> streams) {
+        int active = streams.size();
+        if (active > lanes) {
+            throw new IllegalArgumentException(active + " replications do not fit into " + lanes + " lanes");
+        }
+        int[] running = new int[active];
+        for (int k = 0; k < active; k++) {
+            reset(k, streams.get(k));
+            running[k] = k;
+        }
+
+        while (active > 0) {
+            for (int i = 0; i < active; i++) {
+                int k = running[i];
+                if (!step(k)) {
+                    running[i--] = running[--active];
+                }
+            }
+        }
+
+        List<SimulationResult> results = new ArrayList<>(streams.size());
+        for (int k = 0; k < streams.size(); k++) {
+            results.add(result(k));
+        }
+        return results;
+    }
+
+    private void reset(int k, RandomGenerator.SplittableGenerator root) {
+        // the same split order as Simulator.create: every source, then every worker
+        int base = k * slots;
+        long sequence = 2; // the object model schedules END and START first
+        for (int j = 0; j < numSources; j++) {
+            RandomGenerator rand = root.split();
+            arrivalRand[k * numSources + j] = rand;
+            eventTime[base + j] = arrivals[j].sample(rand);
+            eventSequence[base + j] = sequence++;
+            bufferCounts[k * numSources + j] = 0;
+            declined[k * numSources + j] = 0;
+        }
+        for (int w = 0; w < numWorkers; w++) {
+            serviceRand[k * numWorkers + w] = root.split();
+            eventTime[base + numSources + w] = Double.POSITIVE_INFINITY;
+            eventSequence[base + numSources + w] = Long.MAX_VALUE;
+            workTime[k * numWorkers + w] = 0;
+        }
+        nextSequence[k] = sequence;
+        idleWorkers[k] = numWorkers == Long.SIZE ? -1L : (1L << numWorkers) - 1;
+        pointer[k] = 0;
+        bufferSize[k] = 0;
+        nonEmpty[k] = 0;
+        currentPackage[k] = -1;
+        requests[k] = 0;
+        events[k] = 1; // START
+    }
+
+    /**
+     * Processes the next event of lane {@code k}.
+     *
+     * @return false if the lane has reached the time limit
+     */
+    private boolean step(int k) {
+        int base = k * slots;
+        int next = base;
+        double time = eventTime[base];
+        long sequence = eventSequence[base];
+        for (int slot = base + 1; slot < base + slots; slot++) {
+            double t = eventTime[slot];
+            if (t < time || (t == time && eventSequence[slot] < sequence)) {
+                next = slot;
+                time = t;
+                sequence = eventSequence[slot];
+            }
+        }
+        if (time >= simulationTime) {
+            return false;
+        }
+        events[k]++;
+        int object = next - base;
+        if (object < numSources) {
+            generate(k, object, time);
+        } else {
+            complete(k, object - numSources, time);
+        }
+        return true;
+    }
+
+    private void generate(int k, int source, double time) {
+        requests[k]++;
+        int slot = k * slots + source;
+        eventTime[slot] = time + arrivals[source].sample(arrivalRand[k * numSources + source]);
+        eventSequence[slot] = nextSequence[k]++;
+
+        long idle = idleWorkers[k];
+        if (idle != 0) {
+            long fromPointer = idle & (-1L << pointer[k]);
+            int worker = Long.numberOfTrailingZeros(fromPointer != 0 ? fromPointer : idle);
+            pointer[k] = worker;
+            idleWorkers[k] = idle & ~(1L << worker);
+            startService(k, worker, time);
+            return;
+        }
+
+        int counts = k * numSources;
+        if (bufferSize[k] < capacity) {
+            push(k, source);
+            return;
+        }
+        long lowerPriorities = source >= PriorityRingBuffer.MAX_SOURCES - 1 ? 0 : nonEmpty[k] & (-1L << (source + 1));
+        if (lowerPriorities == 0) {
+            declined[counts + source]++;
+            return;
+        }
+        int victim = PriorityRingBuffer.MAX_SOURCES - 1 - Long.numberOfLeadingZeros(lowerPriorities);
+        declined[counts + victim]++;
+        bufferSize[k]--;
+        if (--bufferCounts[counts + victim] == 0) {
+            nonEmpty[k] &= ~(1L << victim);
+            currentPackage[k] = lowestNonEmpty(k);
+        }
+        push(k, source);
+    }
+
+    private void complete(int k, int worker, double time) {
+        if (bufferSize[k] == 0) {
+            int slot = k * slots + numSources + worker;
+            eventTime[slot] = Double.POSITIVE_INFINITY;
+            eventSequence[slot] = Long.MAX_VALUE;
+            idleWorkers[k] |= 1L << worker;
+            return;
+        }
+        if (currentPackage[k] < 0) {
+            currentPackage[k] = lowestNonEmpty(k);
+        }
+        int source = currentPackage[k];
+        bufferSize[k]--;
+        if (--bufferCounts[k * numSources + source] == 0) {
+            nonEmpty[k] &= ~(1L << source);
+            currentPackage[k] = lowestNonEmpty(k);
+        }
+        startService(k, worker, time);
+    }
+
+    private void startService(int k, int worker, double time) {
+        double work = service.sample(serviceRand[k * numWorkers + worker]);
+        int slot = k * slots + numSources + worker;
+        eventTime[slot] = time + work;
+        eventSequence[slot] = nextSequence[k]++;
+        workTime[k * numWorkers + worker] += work;
+    }
+
+    private void push(int k, int source) {
+        bufferCounts[k * numSources + source]++;
+        bufferSize[k]++;
+        nonEmpty[k] |= 1L << source;
+    }
+
+    private int lowestNonEmpty(int k) {
+        return nonEmpty[k] == 0 ? -1 : Long.numberOfTrailingZeros(nonEmpty[k]);
+    }
+
+    private SimulationResult result(int k) {
+        double work = 0;
+        int base = k * slots + numSources;
+        for (int w = 0; w < numWorkers; w++) {
+            work += workTime[k * numWorkers + w];
+            if (eventTime[base + w] != Double.POSITIVE_INFINITY) {
+                // exclude the part of the current service that lies beyond the end of the run
+                work -= eventTime[base + w] - simulationTime;
+            }
+        }
+        long[] declinedBySource = new long[numSources];
+        long declinedTotal = 0;
+        for (int j = 0; j < numSources; j++) {
+            declinedBySource[j] = declined[k * numSources + j];
+            declinedTotal += declinedBySource[j];
+        }
+        double kpd = work / (simulationTime * numWorkers);
+        return new SimulationResult(simulationTime, requests[k], declinedTotal, kpd, declinedBySource, events[k],
+                null, null, 0.0, null);
+    }
+}
@@ -12,7 +12,7 @@ import java.util.Map;
 @Getter
 @Setter
 @AllArgsConstructor
-public class Buffer {
+public class Buffer implements RequestBuffer {
     private int capacity;
     private int currentSize;
     private Integer currentPriorityPackage = null;
@@ -28,6 +28,11 @@ public class Buffer {
         return currentSize >= capacity;
     }
 
+    public int getCount(int source) {
+        Deque<Request> queue = requestPackages.get(source);
+        return queue == null ? 0 : queue.size();
+    }
+
     public Request addRequest(Request request) {
         if (currentSize < capacity) {
             addRequestNoCheck(request);
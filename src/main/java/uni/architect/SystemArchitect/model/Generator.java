@@ -3,26 +3,99 @@ package uni.architect.SystemArchitect.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import uni.architect.SystemArchitect.arrival.ThinningArrivals;
+import uni.architect.SystemArchitect.distribution.BatchSize;
+import uni.architect.SystemArchitect.distribution.DeterministicDistribution;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.workload.ArrivalCursor;
+
+import java.util.random.RandomGenerator;
 
 @Getter
 @Setter
 @AllArgsConstructor
 public class Generator {
     private int number;
-    private double genInterval;
-    private int genCount;
+    private Distribution interarrivalTime;
+    private long genCount;
     private double nextGenTime;
+    private RandomGenerator rand;
+    // set only under common random numbers: the k-th request of this source then gets the same
+    // service time whichever configuration or worker handles it
+    private Distribution serviceTime;
+    private RandomGenerator serviceRand;
+    // set in trace-driven runs: arrival times and, when present, service times come from the log
+    private ArrivalCursor arrivals;
+    // set for a time-varying rate: arrival times come from thinning instead of the interval
+    private ThinningArrivals rateArrivals;
+    // requests per arrival, null for single requests
+    private BatchSize batchSize;
 
-    public Generator(int number, double genInterval, int genCount) {
-        this.number = number;
-        this.genInterval = genInterval;
+    public Generator(int number, double genInterval, long genCount) {
+        this(number, new DeterministicDistribution(genInterval), null);
         this.genCount = genCount;
-        this.nextGenTime = genInterval;
+    }
+
+    public Generator(int number, Distribution interarrivalTime, RandomGenerator rand) {
+        this.number = number;
+        this.interarrivalTime = interarrivalTime;
+        this.rand = rand;
+        this.nextGenTime = interarrivalTime.sample(rand);
+    }
+
+    /**
+     * Switches the generator to the arrivals of a workload log; the first one becomes the next
+     * generation, an exhausted log never generates again.
+     */
+    public void followWorkload(ArrivalCursor arrivals) {
+        this.arrivals = arrivals;
+        this.nextGenTime = arrivals.advance() ? arrivals.getTime() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Switches the generator to a non-homogeneous Poisson process; the next generation is its first
+     * arrival after the current one.
+     */
+    public void followRate(ThinningArrivals rateArrivals) {
+        this.rateArrivals = rateArrivals;
+        this.nextGenTime = rateArrivals.next(0.0, rand);
+    }
+
+    /**
+     * @return the number of requests of the current arrival, 1 without batches
+     */
+    public int sampleBatchSize() {
+        return batchSize == null ? 1 : batchSize.sample(rand);
     }
 
     public Request generateRequest(double curTime) {
-        nextGenTime = curTime + genInterval;
+        double service = Double.NaN;
+        if (arrivals != null) {
+            service = arrivals.getServiceTime();
+            nextGenTime = arrivals.advance() ? arrivals.getTime() : Double.POSITIVE_INFINITY;
+        } else if (rateArrivals != null) {
+            nextGenTime = rateArrivals.next(curTime, rand);
+        } else {
+            nextGenTime = curTime + interarrivalTime.sample(rand);
+        }
+        return newRequest(curTime, service);
+    }
+
+    /**
+     * Another request of the arrival last generated, which does not move the next generation.
+     */
+    public Request generateBatchMember(double curTime) {
+        return newRequest(curTime, Double.NaN);
+    }
+
+    private Request newRequest(double curTime, double service) {
         genCount++;
-        return new Request((number + 1) + "." + (genCount), number);
+        Request request = new Request(number, genCount);
+        request.setGenerationTime(curTime);
+        if (Double.isNaN(service) && serviceTime != null) {
+            service = serviceTime.sample(serviceRand);
+        }
+        request.setServiceTime(service);
+        return request;
     }
 }
@@ -0,0 +1,265 @@
+package uni.architect.SystemArchitect.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Same disciplines as {@link Buffer}, but every source owns a preallocated circular array and a
+ * bitmask tracks which sources currently have requests, so eviction and package selection are
+ * a couple of bit operations instead of sorting the keys.
+ */
+@Getter
+public class PriorityRingBuffer implements RequestBuffer {
+    public static final int MAX_SOURCES = Long.SIZE;
+
+    private final int capacity;
+    private int currentSize;
+    private int currentPriorityPackage = -1;
+
+    @Getter(AccessLevel.NONE)
+    private final Request[][] queues;
+    @Getter(AccessLevel.NONE)
+    private final int[] heads;
+    @Getter(AccessLevel.NONE)
+    private final int[] counts;
+    // bit i is set when source i has at least one request in the buffer
+    @Getter(AccessLevel.NONE)
+    private long nonEmptyMask = 0;
+
+    public PriorityRingBuffer(int capacity, int numSources) {
+        if (numSources > MAX_SOURCES) {
+            throw new IllegalArgumentException("At most " + MAX_SOURCES + " sources are supported, got " + numSources);
+        }
+        this.capacity = capacity;
+        this.currentSize = 0;
+        this.queues = new Request[numSources][capacity];
+        this.heads = new int[numSources];
+        this.counts = new int[numSources];
+    }
+
+    @Override
+    public boolean isFull() {
+        return currentSize >= capacity;
+    }
+
+    @Override
+    public Request addRequest(Request request) {
+        int source = request.getGeneratorNumber();
+        if (currentSize < capacity) {
+            push(source, request);
+            return null;
+        }
+
+        long lowerPriorities = source >= MAX_SOURCES - 1 ? 0 : nonEmptyMask & (-1L << (source + 1));
+        if (lowerPriorities == 0) {
+            return request;
+        }
+
+        int victimSource = MAX_SOURCES - 1 - Long.numberOfLeadingZeros(lowerPriorities);
+        Request declined = removeLast(victimSource);
+        if (counts[victimSource] == 0) {
+            recalculateCurrentPriorityPackage();
+        }
+        push(source, request);
+        return declined;
+    }
+
+    /**
+     * Copies the batch into the free places and then evicts whole runs of the lowest-priority
+     * source at once, instead of one eviction rule check per request.
+     */
+    @Override
+    public int addRequests(Request[] requests, int from, int to, Request[] declined) {
+        if (from >= to) {
+            return 0;
+        }
+        int source = requests[from].getGeneratorNumber();
+        int direct = Math.min(capacity - currentSize, to - from);
+        pushAll(source, requests, from, direct);
+        from += direct;
+
+        int declinedCount = 0;
+        while (from < to) {
+            long lowerPriorities = source >= MAX_SOURCES - 1 ? 0 : nonEmptyMask & (-1L << (source + 1));
+            if (lowerPriorities == 0) {
+                System.arraycopy(requests, from, declined, declinedCount, to - from);
+                declinedCount += to - from;
+                break;
+            }
+            int victimSource = MAX_SOURCES - 1 - Long.numberOfLeadingZeros(lowerPriorities);
+            int evicted = Math.min(counts[victimSource], to - from);
+            removeLast(victimSource, evicted, declined, declinedCount);
+            declinedCount += evicted;
+            if (counts[victimSource] == 0) {
+                // one request at a time, the package is chosen before the last of the run is placed
+                pushAll(source, requests, from, evicted - 1);
+                recalculateCurrentPriorityPackage();
+                pushAll(source, requests, from + evicted - 1, 1);
+            } else {
+                pushAll(source, requests, from, evicted);
+            }
+            from += evicted;
+        }
+        return declinedCount;
+    }
+
+    @Override
+    public Request getNextRequest() {
+        if (currentSize == 0) {
+            return null;
+        }
+
+        if (currentPriorityPackage < 0) {
+            recalculateCurrentPriorityPackage();
+        }
+
+        Request request = removeFirst(currentPriorityPackage);
+        if (counts[currentPriorityPackage] == 0) {
+            recalculateCurrentPriorityPackage();
+        }
+        return request;
+    }
+
+    @Override
+    public int getCount(int source) {
+        return counts[source];
+    }
+
+    public int getNumSources() {
+        return counts.length;
+    }
+
+    /**
+     * @return the {@code position}-th oldest request of the source
+     */
+    public Request getRequest(int source, int position) {
+        int index = heads[source] + position;
+        return queues[source][index >= capacity ? index - capacity : index];
+    }
+
+    /**
+     * Appends a request restored from a snapshot without applying the eviction rule.
+     *
+     * @return false if there is no free place left
+     */
+    public boolean restoreRequest(Request request) {
+        if (currentSize >= capacity) {
+            return false;
+        }
+        push(request.getGeneratorNumber(), request);
+        return true;
+    }
+
+    /**
+     * @param source the package being served, -1 while none is chosen
+     */
+    public void restoreCurrentPriorityPackage(int source) {
+        if (source < 0 || counts[source] > 0) {
+            currentPriorityPackage = source;
+        } else {
+            // the package did not fit into a smaller buffer
+            recalculateCurrentPriorityPackage();
+        }
+    }
+
+    private void recalculateCurrentPriorityPackage() {
+        currentPriorityPackage = nonEmptyMask == 0 ? -1 : Long.numberOfTrailingZeros(nonEmptyMask);
+    }
+
+    private void push(int source, Request request) {
+        int index = heads[source] + counts[source];
+        if (index >= capacity) {
+            index -= capacity;
+        }
+        queues[source][index] = request;
+        counts[source]++;
+        currentSize++;
+        nonEmptyMask |= 1L << source;
+    }
+
+    private void pushAll(int source, Request[] requests, int from, int count) {
+        if (count == 0) {
+            return;
+        }
+        int index = heads[source] + counts[source];
+        if (index >= capacity) {
+            index -= capacity;
+        }
+        int first = Math.min(count, capacity - index);
+        System.arraycopy(requests, from, queues[source], index, first);
+        System.arraycopy(requests, from + first, queues[source], 0, count - first);
+        counts[source] += count;
+        currentSize += count;
+        nonEmptyMask |= 1L << source;
+    }
+
+    // newest first, as repeated evictions would take them
+    private void removeLast(int source, int count, Request[] into, int at) {
+        Request[] queue = queues[source];
+        int index = heads[source] + counts[source] - 1;
+        if (index >= capacity) {
+            index -= capacity;
+        }
+        for (int i = 0; i < count; i++) {
+            into[at + i] = queue[index];
+            queue[index] = null;
+            index = index == 0 ? capacity - 1 : index - 1;
+        }
+        currentSize -= count;
+        counts[source] -= count;
+        if (counts[source] == 0) {
+            heads[source] = 0;
+            nonEmptyMask &= ~(1L << source);
+        }
+    }
+
+    private Request removeFirst(int source) {
+        Request[] queue = queues[source];
+        int head = heads[source];
+        Request request = queue[head];
+        queue[head] = null;
+        heads[source] = head + 1 == capacity ? 0 : head + 1;
+        afterRemove(source);
+        return request;
+    }
+
+    private Request removeLast(int source) {
+        Request[] queue = queues[source];
+        int index = heads[source] + counts[source] - 1;
+        if (index >= capacity) {
+            index -= capacity;
+        }
+        Request request = queue[index];
+        queue[index] = null;
+        afterRemove(source);
+        return request;
+    }
+
+    private void afterRemove(int source) {
+        currentSize--;
+        if (--counts[source] == 0) {
+            heads[source] = 0;
+            nonEmptyMask &= ~(1L << source);
+        }
+    }
+
+    @Override
+    public String getState() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (long mask = nonEmptyMask; mask != 0; mask &= mask - 1) {
+            int source = Long.numberOfTrailingZeros(mask);
+            sb.append(source + 1).append(": ");
+            Request[] queue = queues[source];
+            int index = heads[source];
+            for (int i = 0; i < counts[source]; i++) {
+                sb.append(queue[index].getNumber()).append(", ");
+                index = index + 1 == capacity ? 0 : index + 1;
+            }
+            sb.setLength(sb.length() - 2); // Remove last comma and space
+            sb.append("; ");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -1,11 +1,29 @@
 package uni.architect.SystemArchitect.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 @Getter
-@AllArgsConstructor
+@Setter
+@RequiredArgsConstructor
 public class Request {
-    private String number;
-    private int generatorNumber;
+    private final int generatorNumber;
+    private final long index;
+
+    private double generationTime;
+    // NaN while the request has not been placed into the buffer
+    private double bufferTime = Double.NaN;
+    private double serviceStartTime = Double.NaN;
+    // drawn by the generator under common random numbers, NaN when the worker samples it
+    private double serviceTime = Double.NaN;
+
+    // built on demand, so headless runs do not pay for request names
+    public String getNumber() {
+        return (generatorNumber + 1) + "." + index;
+    }
+
+    public double getWaitingTime() {
+        return serviceStartTime - generationTime;
+    }
 }
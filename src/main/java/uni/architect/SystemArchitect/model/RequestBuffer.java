@@ -0,0 +1,49 @@
+package uni.architect.SystemArchitect.model;
+
+public interface RequestBuffer {
+    int getCapacity();
+
+    int getCurrentSize();
+
+    boolean isFull();
+
+    /**
+     * @return number of buffered requests from the given source
+     */
+    int getCount(int source);
+
+    /**
+     * Places the request into the buffer (D1032), evicting the newest request of the lowest
+     * priority when the buffer is full (D1002).
+     *
+     * @return the declined request, or null if nothing was declined
+     */
+    Request addRequest(Request request);
+
+    /**
+     * Places requests {@code from .. to - 1}, all of one source, with the same outcome as calling
+     * {@link #addRequest(Request)} for each of them in order.
+     *
+     * @param declined receives the declined requests in the order they are declined
+     * @return the number of declined requests
+     */
+    default int addRequests(Request[] requests, int from, int to, Request[] declined) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Request request = addRequest(requests[i]);
+            if (request != null) {
+                declined[count++] = request;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Takes the next request from the current priority package (D2B5).
+     *
+     * @return the request, or null if the buffer is empty
+     */
+    Request getNextRequest();
+
+    String getState();
+}
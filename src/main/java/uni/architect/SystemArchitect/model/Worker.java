@@ -3,31 +3,38 @@ package uni.architect.SystemArchitect.model;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 @Getter
 @Setter
 @AllArgsConstructor
 public class Worker {
-    private static Random rand = new Random();
-
     private int number;
     private boolean isBusy;
     private double completionTime;
-    private double maxProcessingTime;
+    private Distribution serviceTime;
     private Request curRequest;
     private double totalWorkTime = 0;
+    private RandomGenerator rand;
+
+    public Worker(int number, boolean isBusy, double completionTime, double maxProcessingTime, Request curRequest,
+                  double totalWorkTime, RandomGenerator rand) {
+        this(number, isBusy, completionTime, new ExponentialDistribution(maxProcessingTime), curRequest, totalWorkTime, rand);
+    }
 
     private double getNewCompletionTime() {
-        return rand.nextExponential() * maxProcessingTime;
+        return serviceTime.sample(rand);
     }
 
     public void startProcessing(double curTime, Request request) {
         isBusy = true;
-        double workTime = getNewCompletionTime();
+        double workTime = Double.isNaN(request.getServiceTime()) ? getNewCompletionTime() : request.getServiceTime();
         completionTime = curTime + workTime;
         curRequest = request;
+        request.setServiceStartTime(curTime);
         totalWorkTime += workTime;
     }
 
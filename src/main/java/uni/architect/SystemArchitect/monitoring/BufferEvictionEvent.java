@@ -0,0 +1,34 @@
+package uni.architect.SystemArchitect.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A request declined by a full buffer: either the incoming one or a lower-priority request evicted
+ * in its favour. Off by default.
+ */
+@Name("uni.architect.SystemArchitect.BufferEviction")
+@Label("Buffer Eviction")
+@Category({"SystemArchitect", "Simulation"})
+@StackTrace(false)
+@Enabled(false)
+public class BufferEvictionEvent extends Event {
+    @Label("Incoming Source")
+    public int incomingSource;
+
+    @Label("Declined Source")
+    @Description("Source of the declined request, equal to the incoming one when nothing was evicted")
+    public int declinedSource;
+
+    @Label("Evicted")
+    @Description("Whether a buffered request was dropped to make room")
+    public boolean evicted;
+
+    @Label("Simulated Time")
+    public double simulatedTime;
+}
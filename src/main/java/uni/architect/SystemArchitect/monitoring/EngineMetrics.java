@@ -0,0 +1,104 @@
+package uni.architect.SystemArchitect.monitoring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Progress of one simulator, published every {@link SimulationBatchEvent#BATCH_EVENTS} events and
+ * at the end of a run. Guarded by a sequence lock: the simulation thread never waits, a reader on
+ * another thread copies the values into its own {@link MetricsSnapshot} and retries if a
+ * publication overlapped the copy. Neither side allocates.
+ */
+public class EngineMetrics {
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(EngineMetrics.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // odd while a publication is in progress
+    private long version;
+
+    private long events;
+    private long requests;
+    private long declined;
+    private double simulatedTime;
+    private double eventsPerSecond;
+    private int calendarSize;
+    private int bufferSize;
+    private int busyWorkers;
+    private final long[] declinedBySource;
+
+    public EngineMetrics(int numSources) {
+        declinedBySource = new long[numSources];
+    }
+
+    public int getNumSources() {
+        return declinedBySource.length;
+    }
+
+    public MetricsSnapshot newSnapshot() {
+        return new MetricsSnapshot(declinedBySource.length);
+    }
+
+    /**
+     * Called by the simulation thread only.
+     */
+    public void publish(long events, long requests, double simulatedTime, double eventsPerSecond,
+                        int calendarSize, int bufferSize, int busyWorkers, long[] declinedBySource) {
+        long v = version;
+        VERSION.setOpaque(this, v + 1);
+        VarHandle.storeStoreFence();
+        this.events = events;
+        this.requests = requests;
+        this.simulatedTime = simulatedTime;
+        this.eventsPerSecond = eventsPerSecond;
+        this.calendarSize = calendarSize;
+        this.bufferSize = bufferSize;
+        this.busyWorkers = busyWorkers;
+        long total = 0;
+        for (int i = 0; i < this.declinedBySource.length; i++) {
+            this.declinedBySource[i] = declinedBySource[i];
+            total += declinedBySource[i];
+        }
+        this.declined = total;
+        VERSION.setRelease(this, v + 2);
+    }
+
+    /**
+     * Copies a consistent publication into {@code into}; safe to call from any thread.
+     *
+     * @return the number of publications so far, 0 if nothing has been published yet
+     */
+    public long read(MetricsSnapshot into) {
+        if (into.declinedBySource.length != declinedBySource.length) {
+            throw new IllegalArgumentException("Snapshot has " + into.declinedBySource.length
+                    + " sources, the metrics " + declinedBySource.length);
+        }
+        while (true) {
+            long v = (long) VERSION.getAcquire(this);
+            if ((v & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            into.events = events;
+            into.requests = requests;
+            into.declined = declined;
+            into.simulatedTime = simulatedTime;
+            into.eventsPerSecond = eventsPerSecond;
+            into.calendarSize = calendarSize;
+            into.bufferSize = bufferSize;
+            into.busyWorkers = busyWorkers;
+            System.arraycopy(declinedBySource, 0, into.declinedBySource, 0, declinedBySource.length);
+            VarHandle.loadLoadFence();
+            if ((long) VERSION.getOpaque(this) == v) {
+                into.publications = v / 2;
+                return into.publications;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package uni.architect.SystemArchitect.monitoring;
+
+import lombok.Getter;
+
+/**
+ * Reader-owned copy of {@link EngineMetrics}, reused between polls.
+ */
+@Getter
+public class MetricsSnapshot {
+    long publications;
+    long events;
+    long requests;
+    long declined;
+    double simulatedTime;
+    double eventsPerSecond;
+    int calendarSize;
+    int bufferSize;
+    int busyWorkers;
+    final long[] declinedBySource;
+
+    MetricsSnapshot(int numSources) {
+        declinedBySource = new long[numSources];
+    }
+
+    public long getDeclined(int source) {
+        return declinedBySource[source];
+    }
+}
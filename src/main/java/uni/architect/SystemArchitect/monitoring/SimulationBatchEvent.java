@@ -0,0 +1,46 @@
+package uni.architect.SystemArchitect.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One batch of {@link #BATCH_EVENTS} simulated events; the event duration is the wall time the
+ * batch took.
+ */
+@Name("uni.architect.SystemArchitect.SimulationBatch")
+@Label("Simulation Batch")
+@Category({"SystemArchitect", "Simulation"})
+@Description("Progress of the simulation loop")
+@StackTrace(false)
+public class SimulationBatchEvent extends Event {
+    public static final int BATCH_EVENTS = 1 << 14;
+
+    @Label("Events")
+    @Description("Events processed since the start of the run")
+    public long events;
+
+    @Label("Events per Second")
+    public double eventsPerSecond;
+
+    @Label("Simulated Time")
+    public double simulatedTime;
+
+    @Label("Calendar Size")
+    public int calendarSize;
+
+    @Label("Buffer Occupancy")
+    public int bufferSize;
+
+    @Label("Busy Workers")
+    public int busyWorkers;
+
+    @Label("Requests")
+    public long requests;
+
+    @Label("Declined")
+    public long declined;
+}
@@ -0,0 +1,38 @@
+package uni.architect.SystemArchitect.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One round-robin worker choice. The scan length is the number of busy workers skipped from the
+ * pointer, i.e. what a linear scan would visit; an indexed selector reaches the worker without
+ * visiting them. Off by default, since it fires on every arrival.
+ */
+@Name("uni.architect.SystemArchitect.WorkerSelection")
+@Label("Worker Selection")
+@Category({"SystemArchitect", "Simulation"})
+@StackTrace(false)
+@Enabled(false)
+public class WorkerSelectionEvent extends Event {
+    @Label("Scan Length")
+    @Description("Busy workers skipped, the whole ring when every worker is busy")
+    public int scanLength;
+
+    @Label("Worker")
+    @Description("Chosen worker, -1 when every worker is busy")
+    public int worker;
+
+    public static void record(int scanLength, int worker) {
+        WorkerSelectionEvent event = new WorkerSelectionEvent();
+        if (event.isEnabled()) {
+            event.scanLength = scanLength;
+            event.worker = worker;
+            event.commit();
+        }
+    }
+}
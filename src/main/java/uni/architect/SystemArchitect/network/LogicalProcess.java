@@ -0,0 +1,127 @@
+package uni.architect.SystemArchitect.network;
+
+import uni.architect.SystemArchitect.model.Request;
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Event loop over a subset of the stations and the sources that feed them. Events for stations of
+ * another process are put into that process's outbox and delivered by the engine between windows.
+ */
+final class LogicalProcess {
+    private final NetworkModel model;
+    private final int id;
+    private final int[] partition;
+    private final PriorityQueue<NetworkEvent> queue = new PriorityQueue<>();
+    final List<List<NetworkEvent>> outboxes;
+    long events;
+
+    LogicalProcess(NetworkModel model, int id, int[] partition, int numProcesses) {
+        this.model = model;
+        this.id = id;
+        this.partition = partition;
+        this.outboxes = new ArrayList<>(numProcesses);
+        for (int i = 0; i < numProcesses; i++) {
+            outboxes.add(new ArrayList<>());
+        }
+        for (Source source : model.sources) {
+            if (partition[source.config.getStation()] == id) {
+                scheduleGeneration(source, 0.0);
+            }
+        }
+    }
+
+    double nextTime() {
+        return queue.isEmpty() ? Double.POSITIVE_INFINITY : queue.peek().time;
+    }
+
+    void receive(List<NetworkEvent> events) {
+        queue.addAll(events);
+        events.clear();
+    }
+
+    /**
+     * Processes every pending event earlier than {@code limit}.
+     */
+    void processUntil(double limit) {
+        while (!queue.isEmpty() && queue.peek().time < limit) {
+            NetworkEvent event = queue.poll();
+            switch (event.kind) {
+                case NetworkEvent.GENERATION -> handleGeneration(event);
+                case NetworkEvent.ARRIVAL -> arrive(model.stations[event.station], event.request, event.time);
+                default -> complete(model.stations[event.station], (int) event.sequence, event.time);
+            }
+            events++;
+        }
+    }
+
+    private void scheduleGeneration(Source source, double time) {
+        double next = time + source.config.getInterarrivalTime().sample(source.rand);
+        queue.add(new NetworkEvent(next, NetworkEvent.GENERATION, source.number, source.generated + 1, -1, null));
+    }
+
+    private void handleGeneration(NetworkEvent event) {
+        Source source = model.sources[event.origin];
+        source.generated++;
+        Request request = new Request(source.config.getRequestClass(), source.generated);
+        request.setGenerationTime(event.time);
+        scheduleGeneration(source, event.time);
+        arrive(model.stations[source.config.getStation()], request, event.time);
+    }
+
+    private void arrive(Station station, Request request, double time) {
+        station.arrivals++;
+        int chosen = station.selector.select();
+        if (chosen >= 0) {
+            station.selector.onBusy(chosen);
+            startService(station, station.workers.get(chosen), request, time);
+        } else {
+            request.setBufferTime(time);
+            Request declined = station.buffer.addRequest(request);
+            if (declined != null) {
+                station.declined[declined.getGeneratorNumber()]++;
+            }
+        }
+    }
+
+    private void startService(Station station, Worker worker, Request request, double time) {
+        worker.startProcessing(time, request);
+        queue.add(new NetworkEvent(worker.getCompletionTime(), NetworkEvent.COMPLETION, station.number,
+                worker.getNumber(), station.number, null));
+    }
+
+    private void complete(Station station, int workerNumber, double time) {
+        Worker worker = station.workers.get(workerNumber);
+        Request request = worker.getCurRequest();
+        worker.stopProcessing(time);
+        station.completions++;
+        forward(station, request, time);
+
+        Request next = station.buffer.getNextRequest();
+        if (next != null) {
+            startService(station, worker, next, time);
+        } else {
+            station.selector.onIdle(workerNumber);
+        }
+    }
+
+    private void forward(Station station, Request request, double time) {
+        int route = station.chooseRoute();
+        if (route < 0) {
+            station.sojourn[request.getGeneratorNumber()].add(time - request.getGenerationTime());
+            return;
+        }
+        Route link = station.config.getRoutes().get(route);
+        NetworkEvent arrival = new NetworkEvent(time + link.getDelay(), NetworkEvent.ARRIVAL, station.number,
+                ++station.sent, link.getTarget(), request);
+        int target = partition[link.getTarget()];
+        if (target == id) {
+            queue.add(arrival);
+        } else {
+            outboxes.get(target).add(arrival);
+        }
+    }
+}
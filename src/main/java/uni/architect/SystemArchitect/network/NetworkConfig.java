@@ -0,0 +1,88 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import uni.architect.SystemArchitect.distribution.DeterministicDistribution;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+
+import java.util.List;
+
+/**
+ * Open queueing network of stations, each a priority buffer with its own pool of workers,
+ * connected by probabilistic routes with transfer delays.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class NetworkConfig {
+    @Singular
+    private List<StationConfig> stations;
+    @Singular
+    private List<NetworkSource> sources;
+
+    public int getNumStations() {
+        return stations.size();
+    }
+
+    public int getNumClasses() {
+        int classes = 0;
+        for (NetworkSource source : sources) {
+            classes = Math.max(classes, source.getRequestClass() + 1);
+        }
+        return classes;
+    }
+
+    /**
+     * Transaction path of the bank: the gateway sends part of the traffic through the fraud check,
+     * which blocks a few transactions, and everything else reaches core banking.
+     */
+    public static NetworkConfig bank() {
+        return NetworkConfig.builder()
+                .station(StationConfig.builder().name("Шлюз").numWorkers(4).bufferCapacity(10)
+                        .serviceTime(new ExponentialDistribution(1.0))
+                        .route(new Route(1, 0.3, 0.05))
+                        .route(new Route(2, 0.7, 0.05))
+                        .build())
+                .station(StationConfig.builder().name("Антифрод").numWorkers(2).bufferCapacity(6)
+                        .serviceTime(new ExponentialDistribution(1.5))
+                        .route(new Route(2, 0.95, 0.05))
+                        .build())
+                .station(StationConfig.builder().name("АБС").numWorkers(5).bufferCapacity(12)
+                        .serviceTime(new ExponentialDistribution(1.2))
+                        .build())
+                .source(new NetworkSource(new DeterministicDistribution(2.0), 0, 0))
+                .source(new NetworkSource(new DeterministicDistribution(1.0), 0, 1))
+                .source(new NetworkSource(new DeterministicDistribution(0.5), 0, 2))
+                .build();
+    }
+
+    /**
+     * Synthetic network of {@code layers} x {@code width} stations for scaling runs: the first layer
+     * takes the three standard request classes, every station forwards to two stations of the next
+     * layer and the last layer leaves the network.
+     */
+    public static NetworkConfig layered(int layers, int width) {
+        NetworkConfigBuilder builder = NetworkConfig.builder();
+        for (int layer = 0; layer < layers; layer++) {
+            for (int column = 0; column < width; column++) {
+                StationConfig.StationConfigBuilder station = StationConfig.builder()
+                        .name("С" + (layer + 1) + "." + (column + 1))
+                        .numWorkers(4)
+                        .bufferCapacity(10)
+                        .serviceTime(new ExponentialDistribution(1.0));
+                if (layer + 1 < layers) {
+                    int next = (layer + 1) * width;
+                    station.route(new Route(next + column, 0.45, 0.1))
+                            .route(new Route(next + (column + 1) % width, 0.45, 0.1));
+                }
+                builder.station(station.build());
+            }
+        }
+        for (int column = 0; column < width; column++) {
+            builder.source(new NetworkSource(new ExponentialDistribution(2.0), column, 0))
+                    .source(new NetworkSource(new ExponentialDistribution(1.0), column, 1))
+                    .source(new NetworkSource(new ExponentialDistribution(0.5), column, 2));
+        }
+        return builder.build();
+    }
+}
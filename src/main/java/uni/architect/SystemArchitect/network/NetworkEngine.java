@@ -0,0 +1,9 @@
+package uni.architect.SystemArchitect.network;
+
+public interface NetworkEngine {
+    /**
+     * Simulates the network from an empty state up to {@code endTime}; the same config and seed give
+     * the same result with every engine.
+     */
+    NetworkResult run(NetworkConfig config, long seed, double endTime);
+}
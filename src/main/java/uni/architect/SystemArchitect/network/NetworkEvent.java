@@ -0,0 +1,49 @@
+package uni.architect.SystemArchitect.network;
+
+import uni.architect.SystemArchitect.model.Request;
+
+/**
+ * Pending event of the network. Events are ordered by time and then by a key made only of model
+ * data (kind, originating station, worker or source, per-origin counter), never by the order in
+ * which an engine happened to schedule them, so every engine processes the events of a station in
+ * the same order.
+ */
+final class NetworkEvent implements Comparable<NetworkEvent> {
+    static final int ARRIVAL = 0;
+    static final int COMPLETION = 1;
+    static final int GENERATION = 2;
+
+    final double time;
+    final int kind;
+    // ARRIVAL: sending station, COMPLETION: station, GENERATION: source
+    final int origin;
+    // ARRIVAL: counter of the sending station, COMPLETION: worker, GENERATION: request index
+    final long sequence;
+    // station the event happens at, unused for generations
+    final int station;
+    final Request request;
+
+    NetworkEvent(double time, int kind, int origin, long sequence, int station, Request request) {
+        this.time = time;
+        this.kind = kind;
+        this.origin = origin;
+        this.sequence = sequence;
+        this.station = station;
+        this.request = request;
+    }
+
+    @Override
+    public int compareTo(NetworkEvent other) {
+        int byTime = Double.compare(time, other.time);
+        if (byTime != 0) {
+            return byTime;
+        }
+        if (kind != other.kind) {
+            return Integer.compare(kind, other.kind);
+        }
+        if (origin != other.origin) {
+            return Integer.compare(origin, other.origin);
+        }
+        return Long.compare(sequence, other.sequence);
+    }
+}
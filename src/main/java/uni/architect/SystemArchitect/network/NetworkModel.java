@@ -0,0 +1,27 @@
+package uni.architect.SystemArchitect.network;
+
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+
+/**
+ * Stations and sources of a network with their random streams, split off the seed in a fixed
+ * order, so the model is the same whatever engine and partition will run it.
+ */
+final class NetworkModel {
+    final NetworkConfig config;
+    final Station[] stations;
+    final Source[] sources;
+
+    NetworkModel(NetworkConfig config, long seed) {
+        this.config = config;
+        SplitMix64 master = new SplitMix64(seed);
+        int numClasses = config.getNumClasses();
+        sources = new Source[config.getSources().size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Source(i, config.getSources().get(i), master.split());
+        }
+        stations = new Station[config.getNumStations()];
+        for (int i = 0; i < stations.length; i++) {
+            stations[i] = new Station(i, config.getStations().get(i), numClasses, master.split());
+        }
+    }
+}
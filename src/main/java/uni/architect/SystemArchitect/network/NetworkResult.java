@@ -0,0 +1,88 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+
+import java.util.Arrays;
+
+/**
+ * Per-station counters and per-class end-to-end figures of a network run. Network totals are
+ * combined from the stations in station order, so two engines that agree on every station also
+ * agree bit for bit on the totals.
+ */
+@Getter
+public class NetworkResult {
+    private final double endTime;
+    private final long events;
+    private final String[] stationNames;
+    private final long[] arrivals;
+    private final long[] completions;
+    private final double[] utilisation;
+    // [station][class]
+    private final long[][] declined;
+    // [class]
+    private final long[] generated;
+    private final long[] exited;
+    private final long[] lost;
+    private final double[] meanSojourn;
+
+    NetworkResult(NetworkModel model, double endTime, long events) {
+        this.endTime = endTime;
+        this.events = events;
+        int numStations = model.stations.length;
+        int numClasses = model.config.getNumClasses();
+        stationNames = new String[numStations];
+        arrivals = new long[numStations];
+        completions = new long[numStations];
+        utilisation = new double[numStations];
+        declined = new long[numStations][];
+        generated = new long[numClasses];
+        exited = new long[numClasses];
+        lost = new long[numClasses];
+        meanSojourn = new double[numClasses];
+        double[] sojournSum = new double[numClasses];
+
+        for (Station station : model.stations) {
+            int s = station.number;
+            stationNames[s] = station.config.getName();
+            arrivals[s] = station.arrivals;
+            completions[s] = station.completions;
+            utilisation[s] = station.getBusyTime() / (endTime * station.workers.size());
+            declined[s] = station.declined.clone();
+            for (int c = 0; c < numClasses; c++) {
+                SummaryStatistics sojourn = station.sojourn[c];
+                exited[c] += sojourn.getCount();
+                sojournSum[c] += sojourn.getMean() * sojourn.getCount();
+                lost[c] += station.declined[c];
+            }
+        }
+        for (Source source : model.sources) {
+            generated[source.config.getRequestClass()] += source.generated;
+        }
+        for (int c = 0; c < numClasses; c++) {
+            meanSojourn[c] = exited[c] > 0 ? sojournSum[c] / exited[c] : 0.0;
+        }
+    }
+
+    public int getNumClasses() {
+        return generated.length;
+    }
+
+    public double getLossProbability(int requestClass) {
+        return generated[requestClass] > 0 ? (double) lost[requestClass] / generated[requestClass] : 0.0;
+    }
+
+    /**
+     * @return true if both runs produced exactly the same counters and statistics
+     */
+    public boolean matches(NetworkResult other) {
+        return events == other.events
+                && Arrays.equals(arrivals, other.arrivals)
+                && Arrays.equals(completions, other.completions)
+                && Arrays.equals(utilisation, other.utilisation)
+                && Arrays.deepEquals(declined, other.declined)
+                && Arrays.equals(generated, other.generated)
+                && Arrays.equals(exited, other.exited)
+                && Arrays.equals(meanSojourn, other.meanSojourn);
+    }
+}
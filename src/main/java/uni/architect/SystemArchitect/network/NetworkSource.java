@@ -0,0 +1,17 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.distribution.Distribution;
+
+/**
+ * External arrivals of one request class into an entry station; class 0 has the highest priority
+ * in every buffer.
+ */
+@Getter
+@AllArgsConstructor
+public class NetworkSource {
+    private Distribution interarrivalTime;
+    private int station;
+    private int requestClass;
+}
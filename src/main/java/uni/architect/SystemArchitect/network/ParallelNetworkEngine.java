@@ -0,0 +1,137 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Conservative parallel engine with synchronous time windows. Stations are split into contiguous
+ * blocks, one logical process and thread per block. The lookahead is the shortest transfer delay
+ * of a route between blocks: an event at time {@code t} cannot cause an event in another block
+ * before {@code t + lookahead}, so all processes can safely run every event earlier than
+ * {@code min(next event time) + lookahead} before exchanging messages at a barrier.
+ * <p>
+ * Events of a station are processed in the same order as in {@link SequentialNetworkEngine} and
+ * each station draws from its own streams, so the results are identical.
+ */
+public class ParallelNetworkEngine implements NetworkEngine {
+    private final int threads;
+    @Getter
+    private long windows;
+
+    public ParallelNetworkEngine(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed, got " + threads);
+        }
+        this.threads = threads;
+    }
+
+    @Override
+    public NetworkResult run(NetworkConfig config, long seed, double endTime) {
+        NetworkModel model = new NetworkModel(config, seed);
+        int numStations = config.getNumStations();
+        int numProcesses = Math.min(threads, numStations);
+        int[] partition = new int[numStations];
+        for (int s = 0; s < numStations; s++) {
+            partition[s] = (int) ((long) s * numProcesses / numStations);
+        }
+        double lookahead = lookahead(config, partition);
+
+        LogicalProcess[] processes = new LogicalProcess[numProcesses];
+        for (int i = 0; i < numProcesses; i++) {
+            processes[i] = new LogicalProcess(model, i, partition, numProcesses);
+        }
+
+        double[] nextTimes = new double[numProcesses];
+        double[] windowEnd = new double[1];
+        windows = 0;
+        CyclicBarrier window = new CyclicBarrier(numProcesses, () -> {
+            double earliest = Double.POSITIVE_INFINITY;
+            for (double next : nextTimes) {
+                earliest = Math.min(earliest, next);
+            }
+            // NaN tells the processes that nothing is left before the end of the run
+            windowEnd[0] = earliest < endTime ? Math.min(endTime, earliest + lookahead) : Double.NaN;
+            if (earliest < endTime) {
+                windows++;
+            }
+        });
+        CyclicBarrier exchange = new CyclicBarrier(numProcesses);
+
+        Thread[] workers = new Thread[numProcesses];
+        Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < numProcesses; i++) {
+            int id = i;
+            workers[i] = Thread.ofPlatform().name("network-lp-" + i).start(() -> {
+                try {
+                    runProcess(processes, id, nextTimes, windowEnd, window, exchange);
+                } catch (BrokenBarrierException e) {
+                    // another process failed and broke the barriers
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                    window.reset();
+                    exchange.reset();
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the network engine", e);
+            }
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Logical process failed", failure[0]);
+        }
+
+        long events = 0;
+        for (LogicalProcess process : processes) {
+            events += process.events;
+        }
+        return new NetworkResult(model, endTime, events);
+    }
+
+    private static void runProcess(LogicalProcess[] processes, int id, double[] nextTimes, double[] windowEnd,
+                                   CyclicBarrier window, CyclicBarrier exchange)
+            throws InterruptedException, BrokenBarrierException {
+        LogicalProcess process = processes[id];
+        while (true) {
+            for (LogicalProcess sender : processes) {
+                List<NetworkEvent> inbox = sender.outboxes.get(id);
+                if (!inbox.isEmpty()) {
+                    process.receive(inbox);
+                }
+            }
+            nextTimes[id] = process.nextTime();
+            window.await();
+            double end = windowEnd[0];
+            if (Double.isNaN(end)) {
+                return;
+            }
+            process.processUntil(end);
+            exchange.await();
+        }
+    }
+
+    private static double lookahead(NetworkConfig config, int[] partition) {
+        double lookahead = Double.POSITIVE_INFINITY;
+        for (int s = 0; s < config.getNumStations(); s++) {
+            for (Route route : config.getStations().get(s).getRoutes()) {
+                if (partition[route.getTarget()] != partition[s]) {
+                    if (route.getDelay() <= 0) {
+                        throw new IllegalArgumentException("Route from station " + s + " to " + route.getTarget()
+                                + " crosses threads with no transfer delay, the parallel engine has no lookahead");
+                    }
+                    lookahead = Math.min(lookahead, route.getDelay());
+                }
+            }
+        }
+        return lookahead;
+    }
+}
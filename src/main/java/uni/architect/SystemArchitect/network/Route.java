@@ -0,0 +1,17 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Link from a station to {@code target}: a served request takes it with {@code probability} and
+ * arrives after {@code delay}. The probabilities of a station may sum to less than one, the rest
+ * leaves the network.
+ */
+@Getter
+@AllArgsConstructor
+public class Route {
+    private int target;
+    private double probability;
+    private double delay;
+}
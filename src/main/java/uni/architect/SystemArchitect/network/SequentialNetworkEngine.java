@@ -0,0 +1,15 @@
+package uni.architect.SystemArchitect.network;
+
+/**
+ * Reference engine: one event loop over the whole network.
+ */
+public class SequentialNetworkEngine implements NetworkEngine {
+
+    @Override
+    public NetworkResult run(NetworkConfig config, long seed, double endTime) {
+        NetworkModel model = new NetworkModel(config, seed);
+        LogicalProcess process = new LogicalProcess(model, 0, new int[config.getNumStations()], 1);
+        process.processUntil(endTime);
+        return new NetworkResult(model, endTime, process.events);
+    }
+}
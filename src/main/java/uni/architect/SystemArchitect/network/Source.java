@@ -0,0 +1,16 @@
+package uni.architect.SystemArchitect.network;
+
+import java.util.random.RandomGenerator;
+
+final class Source {
+    final int number;
+    final NetworkSource config;
+    final RandomGenerator rand;
+    long generated;
+
+    Source(int number, NetworkSource config, RandomGenerator rand) {
+        this.number = number;
+        this.config = config;
+        this.rand = rand;
+    }
+}
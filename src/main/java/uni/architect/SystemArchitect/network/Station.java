@@ -0,0 +1,79 @@
+package uni.architect.SystemArchitect.network;
+
+import uni.architect.SystemArchitect.dispatch.WorkerSelector;
+import uni.architect.SystemArchitect.model.PriorityRingBuffer;
+import uni.architect.SystemArchitect.model.RequestBuffer;
+import uni.architect.SystemArchitect.model.Worker;
+import uni.architect.SystemArchitect.stats.SummaryStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runtime state of one station. All its randomness comes from its own streams (one per worker and
+ * one for routing), so its trajectory depends only on the order of its own events.
+ */
+final class Station {
+    final int number;
+    final StationConfig config;
+    final List<Worker> workers;
+    final RequestBuffer buffer;
+    final WorkerSelector selector;
+    final RandomGenerator routing;
+    final double[] routeThresholds;
+    long sent;
+
+    long arrivals;
+    long completions;
+    final long[] declined;
+    // requests that left the network after this station, with their end-to-end sojourn times
+    final SummaryStatistics[] sojourn;
+
+    Station(int number, StationConfig config, int numClasses, RandomGenerator.SplittableGenerator rand) {
+        this.number = number;
+        this.config = config;
+        this.routing = rand.split();
+        this.workers = new ArrayList<>(config.getNumWorkers());
+        for (int i = 0; i < config.getNumWorkers(); i++) {
+            workers.add(new Worker(i, false, 0.0, config.getServiceTime(), null, 0, rand.split()));
+        }
+        this.buffer = new PriorityRingBuffer(config.getBufferCapacity(), numClasses);
+        this.selector = config.getWorkerSelection().create(workers);
+        this.routeThresholds = new double[config.getRoutes().size()];
+        double cumulative = 0;
+        for (int i = 0; i < routeThresholds.length; i++) {
+            cumulative += config.getRoutes().get(i).getProbability();
+            routeThresholds[i] = cumulative;
+        }
+        this.declined = new long[numClasses];
+        this.sojourn = new SummaryStatistics[numClasses];
+        for (int i = 0; i < numClasses; i++) {
+            sojourn[i] = new SummaryStatistics();
+        }
+    }
+
+    /**
+     * @return index of the chosen route, or -1 if the request leaves the network
+     */
+    int chooseRoute() {
+        if (routeThresholds.length == 0) {
+            return -1;
+        }
+        double u = routing.nextDouble();
+        for (int i = 0; i < routeThresholds.length; i++) {
+            if (u < routeThresholds[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    double getBusyTime() {
+        double busy = 0;
+        for (Worker worker : workers) {
+            busy += worker.getTotalWorkTime();
+        }
+        return busy;
+    }
+}
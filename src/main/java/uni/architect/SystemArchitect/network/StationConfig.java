@@ -0,0 +1,22 @@
+package uni.architect.SystemArchitect.network;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.Distribution;
+
+import java.util.List;
+
+@Getter
+@Builder(toBuilder = true)
+public class StationConfig {
+    private String name;
+    private int numWorkers;
+    private int bufferCapacity;
+    private Distribution serviceTime;
+    @Builder.Default
+    private WorkerSelection workerSelection = WorkerSelection.ROUND_ROBIN;
+    @Singular
+    private List<Route> routes;
+}
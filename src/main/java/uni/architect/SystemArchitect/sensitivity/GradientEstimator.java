@@ -0,0 +1,230 @@
+package uni.architect.SystemArchitect.sensitivity;
+
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Derivative estimators maintained alongside the statistics of one run. Parameter 0 is
+ * {@code maxProcessingTime}, parameter {@code 1 + j} the mean interval of source {@code j}; every
+ * sample of a parameter's distribution is that parameter times a fixed shape.
+ * <p>
+ * Infinitesimal perturbation analysis (IPA) carries the derivative of every service start and
+ * completion time: a service started on arrival inherits the arrival time's derivative, one taken
+ * from the buffer the derivative of the completion that freed the worker, and the service time
+ * itself adds {@code S / maxProcessingTime}. The derivatives of the busy time then mirror the way
+ * the simulator sums work into the utilisation.
+ * <p>
+ * Counts have zero pathwise derivatives, so decline probabilities use likelihood ratios (LR): every
+ * arrival and every decline is weighted by the sum of the scores of the samples drawn during the
+ * last {@code horizon} time units. Cutting the sum off at the horizon keeps the variance bounded
+ * over a long run and assumes that the influence of older samples has died out; about 20 mean
+ * service times is enough for the standard system.
+ * <p>
+ * IPA alone assumes that a small change keeps the order of events, but in a loss system admission
+ * decisions flip, and near saturation that doubles the estimate. Each extra decline removes one
+ * service of mean {@code maxProcessingTime}, so the utilisation derivative is IPA minus that much
+ * work per LR-estimated extra decline; without an LR for the parameter it is NaN.
+ */
+public class GradientEstimator {
+    private static final int BUCKETS = 16;
+
+    private final int numSources;
+    private final int numParams;
+    private final double serviceMean;
+    private final Distribution serviceTime;
+    private final double[] intervals;
+    private final Distribution[] arrivals;
+    private final boolean[] hasScore;
+
+    // perturbation analysis
+    private final double[][] startDerivative;
+    private final double[][] completionDerivative;
+    private final double[] workDerivative;
+
+    // likelihood ratios, scores summed over a sliding window of BUCKETS time buckets
+    private final double bucketWidth;
+    private final double[][] buckets;
+    private final double[] window;
+    private long currentBucket = 0;
+    private final double[] requestScore;
+    private final double[][] declineScore;
+
+    public GradientEstimator(SimulationConfig config, double horizon) {
+        if (!(horizon > 0)) {
+            throw new IllegalArgumentException("Sensitivity horizon must be positive, got " + horizon);
+        }
+        if (config.getWorkload() != null || config.getArrivalRate() != null || config.getBatchSizes() != null) {
+            throw new IllegalArgumentException("Sensitivities need renewal arrivals of single requests, "
+                    + "not a workload log, a time-varying rate or batches");
+        }
+        numSources = config.getNumGenerators();
+        numParams = 1 + numSources;
+        serviceMean = config.getMaxProcessingTime();
+        serviceTime = config.getServiceDistribution();
+        intervals = new double[numSources];
+        arrivals = new Distribution[numSources];
+        hasScore = new boolean[numParams];
+        hasScore[0] = !Double.isNaN(serviceTime.meanScore(serviceMean));
+        for (int j = 0; j < numSources; j++) {
+            intervals[j] = config.getGenIntervals().get(j);
+            arrivals[j] = config.getArrivalDistribution(j);
+            hasScore[1 + j] = !Double.isNaN(arrivals[j].meanScore(intervals[j]));
+        }
+
+        int numWorkers = config.getNumWorkers();
+        startDerivative = new double[numWorkers][numParams];
+        completionDerivative = new double[numWorkers][numParams];
+        workDerivative = new double[numParams];
+
+        bucketWidth = horizon / BUCKETS;
+        buckets = new double[BUCKETS][numParams];
+        window = new double[numParams];
+        requestScore = new double[numParams];
+        declineScore = new double[numSources][numParams];
+    }
+
+    /**
+     * @param interval        time to the next arrival of the source
+     * @param declinedSource  source of the request declined by the buffer, -1 if none
+     * @param worker          worker that started serving the arrival, -1 if none
+     * @param service         its service time
+     */
+    public void onGeneration(int source, double time, double interval, int declinedSource, int worker, double service) {
+        advance(time);
+        // the samples drawn at this instant cannot influence what happens at it
+        for (int p = 0; p < numParams; p++) {
+            requestScore[p] += window[p];
+        }
+        if (declinedSource >= 0) {
+            double[] score = declineScore[declinedSource];
+            for (int p = 0; p < numParams; p++) {
+                score[p] += window[p];
+            }
+        }
+
+        if (worker >= 0) {
+            double[] start = startDerivative[worker];
+            Arrays.fill(start, 0.0);
+            start[1 + source] = time / intervals[source];
+            startService(worker, service);
+        }
+        if (hasScore[1 + source] && interval != Double.POSITIVE_INFINITY) {
+            addScore(1 + source, arrivals[source].meanScore(interval));
+        }
+    }
+
+    /**
+     * @param service time of the next service started by the worker, NaN if it becomes idle
+     */
+    public void onCompletion(int worker, double time, double service) {
+        if (Double.isNaN(service)) {
+            return;
+        }
+        advance(time);
+        System.arraycopy(completionDerivative[worker], 0, startDerivative[worker], 0, numParams);
+        startService(worker, service);
+    }
+
+    /**
+     * Mirrors {@code Simulator.resetStatistics}: busy workers keep the remaining part of their service.
+     */
+    public void resetStatistics(List<Worker> workers) {
+        Arrays.fill(workDerivative, 0.0);
+        for (Worker worker : workers) {
+            if (worker.isBusy()) {
+                addTo(workDerivative, completionDerivative[worker.getNumber()], 1.0);
+            }
+        }
+        Arrays.fill(requestScore, 0.0);
+        for (double[] score : declineScore) {
+            Arrays.fill(score, 0.0);
+        }
+    }
+
+    public Sensitivity result(List<Worker> workers, double observedTime, long requests, long[] declined) {
+        double[] work = workDerivative.clone();
+        for (Worker worker : workers) {
+            if (worker.isBusy()) {
+                addTo(work, completionDerivative[worker.getNumber()], -1.0);
+            }
+        }
+        double kpdScale = 1.0 / (observedTime * workers.size());
+
+        // [param][declined source]
+        double[][] decline = new double[numParams][numSources];
+        for (int j = 0; j < numSources; j++) {
+            double probability = requests == 0 ? 0.0 : (double) declined[j] / requests;
+            for (int p = 0; p < numParams; p++) {
+                decline[p][j] = declineDerivative(j, p, probability, requests);
+            }
+        }
+        double[] kpd = new double[numParams];
+        for (int p = 0; p < numParams; p++) {
+            double lostWork = 0;
+            for (int j = 0; j < numSources; j++) {
+                lostWork += serviceMean * requests * decline[p][j];
+            }
+            kpd[p] = (work[p] - lostWork) * kpdScale;
+        }
+
+        double[][] declineByInterval = new double[numSources][numSources];
+        for (int j = 0; j < numSources; j++) {
+            for (int k = 0; k < numSources; k++) {
+                declineByInterval[j][k] = decline[1 + k][j];
+            }
+        }
+        return new Sensitivity(kpd[0], Arrays.copyOfRange(kpd, 1, numParams), decline[0], declineByInterval);
+    }
+
+    // d(D / N) = (dD - P dN) / N, both counts weighted by the same window, which also cancels most noise
+    private double declineDerivative(int source, int param, double probability, long requests) {
+        if (!hasScore[param]) {
+            return Double.NaN;
+        }
+        if (requests == 0) {
+            return 0.0;
+        }
+        return (declineScore[source][param] - probability * requestScore[param]) / requests;
+    }
+
+    private void startService(int worker, double service) {
+        double[] completion = completionDerivative[worker];
+        System.arraycopy(startDerivative[worker], 0, completion, 0, numParams);
+        completion[0] += service / serviceMean;
+        workDerivative[0] += service / serviceMean;
+        if (hasScore[0]) {
+            addScore(0, serviceTime.meanScore(service));
+        }
+    }
+
+    private void addScore(int param, double score) {
+        buckets[(int) (currentBucket % BUCKETS)][param] += score;
+        window[param] += score;
+    }
+
+    private void advance(double time) {
+        long bucket = (long) (time / bucketWidth);
+        if (bucket <= currentBucket) {
+            return;
+        }
+        for (long b = Math.max(currentBucket + 1, bucket - BUCKETS + 1); b <= bucket; b++) {
+            Arrays.fill(buckets[(int) (b % BUCKETS)], 0.0);
+        }
+        currentBucket = bucket;
+        // summing afresh keeps rounding errors from piling up in the window
+        Arrays.fill(window, 0.0);
+        for (double[] scores : buckets) {
+            addTo(window, scores, 1.0);
+        }
+    }
+
+    private static void addTo(double[] target, double[] values, double factor) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += factor * values[i];
+        }
+    }
+}
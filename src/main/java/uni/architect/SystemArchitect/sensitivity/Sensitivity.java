@@ -0,0 +1,37 @@
+package uni.architect.SystemArchitect.sensitivity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Derivatives of one run's metrics with respect to {@code maxProcessingTime} and to the mean
+ * interval of every source, see {@link GradientEstimator}. They are NaN for parameters whose
+ * distribution has no density (the default deterministic arrivals).
+ */
+@Getter
+@AllArgsConstructor
+public class Sensitivity {
+    private double kpdByServiceTime;
+    // [interval source]
+    private double[] kpdByInterval;
+    // [declined source]
+    private double[] declineByServiceTime;
+    // [declined source][interval source]
+    private double[][] declineByInterval;
+
+    public int getNumSources() {
+        return kpdByInterval.length;
+    }
+
+    public double getKpdByInterval(int source) {
+        return kpdByInterval[source];
+    }
+
+    public double getDeclineByServiceTime(int source) {
+        return declineByServiceTime[source];
+    }
+
+    public double getDeclineByInterval(int declinedSource, int intervalSource) {
+        return declineByInterval[declinedSource][intervalSource];
+    }
+}
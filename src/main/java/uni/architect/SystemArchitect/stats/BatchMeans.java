@@ -0,0 +1,77 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.Getter;
+
+/**
+ * Batch-means estimator with constant memory. Observations are grouped into at most
+ * {@code maxBatches} batches; when all of them are filled, neighbouring batches are merged
+ * pairwise and the batch size doubles.
+ */
+public class BatchMeans {
+    private final double[] batchSums;
+    private int completedBatches = 0;
+    @Getter
+    private long batchSize = 1;
+    private double partialSum = 0;
+    private long partialCount = 0;
+    @Getter
+    private long count = 0;
+    private double total = 0;
+
+    public BatchMeans(int maxBatches) {
+        if (maxBatches < 4 || maxBatches % 2 != 0) {
+            throw new IllegalArgumentException("maxBatches must be even and at least 4, got " + maxBatches);
+        }
+        this.batchSums = new double[maxBatches];
+    }
+
+    public void add(double value) {
+        count++;
+        total += value;
+        partialSum += value;
+        if (++partialCount < batchSize) {
+            return;
+        }
+
+        batchSums[completedBatches++] = partialSum;
+        partialSum = 0;
+        partialCount = 0;
+        if (completedBatches == batchSums.length) {
+            for (int i = 0; i < completedBatches / 2; i++) {
+                batchSums[i] = batchSums[2 * i] + batchSums[2 * i + 1];
+            }
+            completedBatches /= 2;
+            batchSize *= 2;
+        }
+    }
+
+    public int getCompletedBatches() {
+        return completedBatches;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : total / count;
+    }
+
+    public ConfidenceInterval confidenceInterval(double level) {
+        if (completedBatches < 2) {
+            return new ConfidenceInterval(getMean(), Double.POSITIVE_INFINITY, completedBatches, level);
+        }
+        SummaryStatistics batches = new SummaryStatistics();
+        for (int i = 0; i < completedBatches; i++) {
+            batches.add(batchSums[i] / batchSize);
+        }
+        double t = StudentT.quantile(0.5 + level / 2, completedBatches - 1);
+        return new ConfidenceInterval(getMean(), t * batches.getStandardDeviation() / Math.sqrt(completedBatches),
+                completedBatches, level);
+    }
+
+    public void reset() {
+        completedBatches = 0;
+        batchSize = 1;
+        partialSum = 0;
+        partialCount = 0;
+        count = 0;
+        total = 0;
+    }
+}
@@ -0,0 +1,30 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ConfidenceInterval {
+    private double mean;
+    private double halfWidth;
+    private long sampleSize;
+    private double level;
+
+    public double getLower() {
+        return mean - halfWidth;
+    }
+
+    public double getUpper() {
+        return mean + halfWidth;
+    }
+
+    public double getRelativeHalfWidth() {
+        return mean == 0 ? Double.POSITIVE_INFINITY : halfWidth / Math.abs(mean);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.4f ± %.4f", mean, halfWidth);
+    }
+}
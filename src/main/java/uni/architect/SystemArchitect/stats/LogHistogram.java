@@ -0,0 +1,126 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram with logarithmic buckets: every power of two is split into
+ * {@code 2^SUB_BUCKET_BITS} equal sub-buckets, which bounds the relative quantile error by about 3%.
+ * Values outside [2^MIN_EXPONENT, 2^(MAX_EXPONENT + 1)) are clamped into the edge buckets.
+ */
+public class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -20;
+    private static final int MAX_EXPONENT = 40;
+
+    private final long[] counts = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS];
+    private long zeroCount = 0;
+    // range of buckets that may be non-empty, so snapshots and resets skip the untouched tails
+    private int lowest = counts.length;
+    private int highest = -1;
+    @Getter
+    private long count = 0;
+
+    public void add(double value) {
+        count++;
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = bucketIndex(value);
+        counts[index]++;
+        if (index < lowest) {
+            lowest = index;
+        }
+        if (index > highest) {
+            highest = index;
+        }
+    }
+
+    /**
+     * @param q quantile in [0, 1], e.g. 0.99 for p99
+     * @return midpoint of the bucket holding the quantile, or 0 if the histogram is empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        if (rank <= zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = lowest; i <= highest; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketMidpoint(i);
+            }
+        }
+        return bucketMidpoint(counts.length - 1);
+    }
+
+    // only the non-empty buckets are written
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(zeroCount);
+        int nonEmpty = 0;
+        for (int i = lowest; i <= highest; i++) {
+            if (counts[i] != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(nonEmpty);
+        for (int i = lowest; i <= highest; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        reset();
+        count = in.readLong();
+        zeroCount = in.readLong();
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readUnsignedShort();
+            counts[index] = in.readLong();
+            lowest = Math.min(lowest, index);
+            highest = Math.max(highest, index);
+        }
+    }
+
+    public void reset() {
+        if (highest >= lowest) {
+            Arrays.fill(counts, lowest, highest + 1, 0);
+        }
+        lowest = counts.length;
+        highest = -1;
+        zeroCount = 0;
+        count = 0;
+    }
+
+    private static int bucketIndex(double value) {
+        int exponent = Math.getExponent(value);
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) (Double.doubleToRawLongBits(value) >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static double bucketMidpoint(int index) {
+        int exponent = index / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = index % SUB_BUCKETS;
+        return Math.scalb(1.0 + (subBucket + 0.5) / SUB_BUCKETS, exponent);
+    }
+}
@@ -0,0 +1,112 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.Getter;
+
+/**
+ * Streaming MSER-5 warm-up detector for several output series observed together (for example
+ * utilisation and per-source decline fractions). Raw observations are averaged in groups of five;
+ * the group means are kept in a fixed array that is halved by pairwise merging when full.
+ * <p>
+ * For every series the truncation point {@code d*} minimising
+ * {@code sum_{i>d} (Z_i - mean_d)^2 / (m - d)^2} is searched over the first half of the groups.
+ * The warm-up is considered over once {@code d*} lies strictly inside that half for all series,
+ * i.e. the data seen so far already contain a stationary tail at least as long as the transient.
+ * The detector only reports that moment: the simulator cannot rewind its accumulators to
+ * {@code d*}, so it cuts at the detection point instead, which discards more than {@code d*} (at
+ * least {@code minGroups} groups) but never keeps any of the transient.
+ */
+public class MserWarmupDetector {
+    private static final int GROUP = 5;
+
+    private final double[][] groupSums;
+    private final double[] partialSums;
+    private final int minGroups;
+    private int groups = 0;
+    private long groupSize = GROUP;
+    private long partialCount = 0;
+    @Getter
+    private long observations = 0;
+
+    public MserWarmupDetector(int numSeries, int maxGroups, int minGroups) {
+        if (maxGroups < 4 || maxGroups % 2 != 0) {
+            throw new IllegalArgumentException("maxGroups must be even and at least 4, got " + maxGroups);
+        }
+        this.groupSums = new double[numSeries][maxGroups];
+        this.partialSums = new double[numSeries];
+        this.minGroups = minGroups;
+    }
+
+    public void add(int series, double value) {
+        partialSums[series] += value;
+    }
+
+    /**
+     * Completes one raw observation of every series.
+     *
+     * @return true once the warm-up period is detected
+     */
+    public boolean endObservation() {
+        observations++;
+        if (++partialCount < groupSize) {
+            return false;
+        }
+        for (int s = 0; s < groupSums.length; s++) {
+            groupSums[s][groups] = partialSums[s];
+            partialSums[s] = 0;
+        }
+        partialCount = 0;
+        groups++;
+        if (groups == groupSums[0].length) {
+            for (double[] sums : groupSums) {
+                for (int i = 0; i < groups / 2; i++) {
+                    sums[i] = sums[2 * i] + sums[2 * i + 1];
+                }
+            }
+            groups /= 2;
+            groupSize *= 2;
+        }
+        return groups >= minGroups && detect();
+    }
+
+    private boolean detect() {
+        int limit = groups / 2;
+        for (double[] sums : groupSums) {
+            if (truncationPoint(sums, limit) >= limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int truncationPoint(double[] sums, int limit) {
+        double suffixSum = 0;
+        double suffixSquares = 0;
+        double best = Double.POSITIVE_INFINITY;
+        int bestD = limit;
+        for (int i = groups - 1; i >= 0; i--) {
+            double z = sums[i] / groupSize;
+            suffixSum += z;
+            suffixSquares += z * z;
+            if (i <= limit) {
+                int n = groups - i;
+                double sse = Math.max(0, suffixSquares - suffixSum * suffixSum / n);
+                double mser = sse / ((double) n * n);
+                if (mser <= best) {
+                    best = mser;
+                    bestD = i;
+                }
+            }
+        }
+        return bestD;
+    }
+
+    public void reset() {
+        for (int s = 0; s < groupSums.length; s++) {
+            partialSums[s] = 0;
+        }
+        groups = 0;
+        groupSize = GROUP;
+        partialCount = 0;
+        observations = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.model.Request;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Constant-memory latency and occupancy statistics: per-source waiting and sojourn times, the
+ * time spent in the buffer by the requests that had to queue (mean/variance and log-bucketed
+ * quantiles) and time averages of the buffer length and the number
+ * of busy workers. Updating does not allocate.
+ */
+@Getter
+public class QueueStatistics {
+    private final SummaryStatistics[] waitingTime;
+    private final SummaryStatistics[] sojournTime;
+    private final LogHistogram[] waitingHistogram;
+    private final LogHistogram[] sojournHistogram;
+    // only requests that went through the buffer, so unlike waitingTime it has no zeros
+    private final SummaryStatistics[] bufferTime;
+    private final LogHistogram[] bufferHistogram;
+    private final TimeWeightedAverage bufferLength;
+    private final TimeWeightedAverage busyWorkers;
+
+    public QueueStatistics(int numSources) {
+        waitingTime = new SummaryStatistics[numSources];
+        sojournTime = new SummaryStatistics[numSources];
+        waitingHistogram = new LogHistogram[numSources];
+        sojournHistogram = new LogHistogram[numSources];
+        bufferTime = new SummaryStatistics[numSources];
+        bufferHistogram = new LogHistogram[numSources];
+        for (int i = 0; i < numSources; i++) {
+            waitingTime[i] = new SummaryStatistics();
+            sojournTime[i] = new SummaryStatistics();
+            waitingHistogram[i] = new LogHistogram();
+            sojournHistogram[i] = new LogHistogram();
+            bufferTime[i] = new SummaryStatistics();
+            bufferHistogram[i] = new LogHistogram();
+        }
+        bufferLength = new TimeWeightedAverage(0.0, 0);
+        busyWorkers = new TimeWeightedAverage(0.0, 0);
+    }
+
+    public int getNumSources() {
+        return waitingTime.length;
+    }
+
+    public void onServiceStart(Request request) {
+        int source = request.getGeneratorNumber();
+        double waiting = request.getWaitingTime();
+        waitingTime[source].add(waiting);
+        waitingHistogram[source].add(waiting);
+        if (!Double.isNaN(request.getBufferTime())) {
+            double buffered = request.getServiceStartTime() - request.getBufferTime();
+            bufferTime[source].add(buffered);
+            bufferHistogram[source].add(buffered);
+        }
+    }
+
+    public void onCompletion(Request request, double time) {
+        int source = request.getGeneratorNumber();
+        double sojourn = time - request.getGenerationTime();
+        sojournTime[source].add(sojourn);
+        sojournHistogram[source].add(sojourn);
+    }
+
+    public void onBufferLengthChange(double time, int length) {
+        if (length != bufferLength.getValue()) {
+            bufferLength.update(time, length);
+        }
+    }
+
+    public void onBusyWorkersChange(double time, int busy) {
+        busyWorkers.update(time, busy);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        for (int i = 0; i < waitingTime.length; i++) {
+            waitingTime[i].writeTo(out);
+            sojournTime[i].writeTo(out);
+            waitingHistogram[i].writeTo(out);
+            sojournHistogram[i].writeTo(out);
+            bufferTime[i].writeTo(out);
+            bufferHistogram[i].writeTo(out);
+        }
+        bufferLength.writeTo(out);
+        busyWorkers.writeTo(out);
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        for (int i = 0; i < waitingTime.length; i++) {
+            waitingTime[i].readFrom(in);
+            sojournTime[i].readFrom(in);
+            waitingHistogram[i].readFrom(in);
+            sojournHistogram[i].readFrom(in);
+            bufferTime[i].readFrom(in);
+            bufferHistogram[i].readFrom(in);
+        }
+        bufferLength.readFrom(in);
+        busyWorkers.readFrom(in);
+    }
+
+    public void reset(double time) {
+        for (int i = 0; i < waitingTime.length; i++) {
+            waitingTime[i].reset();
+            sojournTime[i].reset();
+            waitingHistogram[i].reset();
+            sojournHistogram[i].reset();
+            bufferTime[i].reset();
+            bufferHistogram[i].reset();
+        }
+        bufferLength.reset(time);
+        busyWorkers.reset(time);
+    }
+}
@@ -0,0 +1,74 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Streaming mean and variance (Welford's algorithm).
+ */
+@Getter
+public class SummaryStatistics {
+    private long count;
+    private double mean;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    @Getter(AccessLevel.NONE)
+    private double m2;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public ConfidenceInterval confidenceInterval(double level) {
+        if (count < 2) {
+            return new ConfidenceInterval(mean, Double.POSITIVE_INFINITY, count, level);
+        }
+        double t = StudentT.quantile(0.5 + level / 2, count - 1);
+        return new ConfidenceInterval(mean, t * Math.sqrt(getVariance() / count), count, level);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(mean);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeDouble(m2);
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        count = in.readLong();
+        mean = in.readDouble();
+        min = in.readDouble();
+        max = in.readDouble();
+        m2 = in.readDouble();
+    }
+
+    public void reset() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,77 @@
+package uni.architect.SystemArchitect.stats;
+
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Time average of a piecewise-constant quantity such as the buffer length.
+ */
+public class TimeWeightedAverage {
+    private double startTime;
+    private double lastTime;
+    @Getter
+    private double value;
+    private double area = 0;
+    @Getter
+    private double max;
+
+    public TimeWeightedAverage(double startTime, double initialValue) {
+        this.startTime = startTime;
+        this.lastTime = startTime;
+        this.value = initialValue;
+        this.max = initialValue;
+    }
+
+    public void update(double time, double newValue) {
+        area += value * (time - lastTime);
+        lastTime = time;
+        value = newValue;
+        if (newValue > max) {
+            max = newValue;
+        }
+    }
+
+    /**
+     * @return integral of the quantity from the start time to {@code time}
+     */
+    public double getArea(double time) {
+        return area + value * (time - lastTime);
+    }
+
+    public double getMean(double endTime) {
+        double duration = endTime - startTime;
+        if (duration <= 0) {
+            return value;
+        }
+        return (area + value * (endTime - lastTime)) / duration;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(startTime);
+        out.writeDouble(lastTime);
+        out.writeDouble(value);
+        out.writeDouble(area);
+        out.writeDouble(max);
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        startTime = in.readDouble();
+        lastTime = in.readDouble();
+        value = in.readDouble();
+        area = in.readDouble();
+        max = in.readDouble();
+    }
+
+    /**
+     * Forgets the history before {@code time}, keeping the current value.
+     */
+    public void reset(double time) {
+        startTime = time;
+        lastTime = time;
+        area = 0;
+        max = value;
+    }
+}
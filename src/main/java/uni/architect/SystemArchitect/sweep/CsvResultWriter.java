@@ -0,0 +1,27 @@
+package uni.architect.SystemArchitect.sweep;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CsvResultWriter extends ResultWriter {
+    public CsvResultWriter(Path path, int numSources) {
+        super(path, numSources);
+        line(format(columns));
+    }
+
+    @Override
+    protected String format(List<String> values) {
+        return values.stream().map(CsvResultWriter::quote).collect(Collectors.joining(","));
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
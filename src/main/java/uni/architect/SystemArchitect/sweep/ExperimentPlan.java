@@ -0,0 +1,287 @@
+package uni.architect.SystemArchitect.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.DeterministicDistribution;
+import uni.architect.SystemArchitect.distribution.Distribution;
+import uni.architect.SystemArchitect.distribution.ErlangDistribution;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+import uni.architect.SystemArchitect.distribution.HyperExponentialDistribution;
+import uni.architect.SystemArchitect.distribution.LogNormalDistribution;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * A batch of experiments read from a properties file:
+ * <pre>
+ * threads = 4
+ * output = results.csv
+ * cache = .experiment-cache
+ * # defaults for every experiment
+ * simulationTime = 10000
+ * replications = 20
+ *
+ * experiment.workers.numWorkers = 5..10
+ * experiment.workers.bufferCapacity = 5, 10
+ * experiment.service.service = exponential, erlang:4, lognormal:1.5, hyperexponential:4
+ * experiment.service.genIntervals = 2 1 0.5, 1 1 1
+ * </pre>
+ * Every parameter is a comma-separated list of alternatives, integers also accept a range
+ * {@code a..b}, and an experiment runs every combination of its alternatives. Parameters an
+ * experiment does not set come from the defaults, then from {@link SimulationConfig#standard()}.
+ * Arrival and service shapes are rescaled to the configured means.
+ */
+@Getter
+@AllArgsConstructor
+public class ExperimentPlan {
+    public static final String EXPERIMENT_PREFIX = "experiment.";
+    // model parameters in the order their alternatives are expanded, the last one varying fastest
+    public static final List<String> PARAMETERS = List.of("numWorkers", "bufferCapacity", "genIntervals",
+            "maxProcessingTime", "arrivals", "service", "workerSelection", "simulationTime",
+            "warmupObservationRequests");
+    public static final String SEED = "seed";
+    public static final String REPLICATIONS = "replications";
+
+    private List<ExperimentPoint> points;
+    private int threads;
+    // null means results go to the console only
+    private Path output;
+    // null disables the result cache
+    private Path cacheDirectory;
+
+    public static ExperimentPlan load(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read experiment plan " + file, e);
+        }
+        return parse(properties, file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * @param directory the directory the output and cache paths are relative to
+     */
+    public static ExperimentPlan parse(Properties properties, Path directory) {
+        Map<String, String> defaults = standardDefaults();
+        SortedMap<String, Map<String, String>> experiments = new TreeMap<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path output = null;
+        Path cacheDirectory = null;
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            switch (key) {
+                case "threads" -> threads = Integer.parseInt(value);
+                case "output" -> output = directory.resolve(value);
+                case "cache" -> cacheDirectory = directory.resolve(value);
+                default -> {
+                    if (key.startsWith(EXPERIMENT_PREFIX)) {
+                        String name = key.substring(EXPERIMENT_PREFIX.length());
+                        int dot = name.lastIndexOf('.');
+                        if (dot <= 0) {
+                            throw new IllegalArgumentException("Expected experiment.<name>.<parameter>, got " + key);
+                        }
+                        String parameter = checkParameter(name.substring(dot + 1), key);
+                        experiments.computeIfAbsent(name.substring(0, dot), n -> new HashMap<>()).put(parameter, value);
+                    } else {
+                        defaults.put(checkParameter(key, key), value);
+                    }
+                }
+            }
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Experiment plan needs at least one thread, got " + threads);
+        }
+        if (experiments.isEmpty()) {
+            experiments.put("default", Map.of());
+        }
+
+        List<ExperimentPoint> points = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> experiment : experiments.entrySet()) {
+            Map<String, String> values = new HashMap<>(defaults);
+            values.putAll(experiment.getValue());
+            expand(experiment.getKey(), values, points);
+        }
+        return new ExperimentPlan(points, threads, output, cacheDirectory);
+    }
+
+    private static Map<String, String> standardDefaults() {
+        SimulationConfig standard = SimulationConfig.standard();
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("numWorkers", Integer.toString(standard.getNumWorkers()));
+        defaults.put("bufferCapacity", Integer.toString(standard.getBufferCapacity()));
+        defaults.put("genIntervals", standard.getGenIntervals().stream().map(String::valueOf)
+                .collect(Collectors.joining(" ")));
+        defaults.put("maxProcessingTime", Double.toString(standard.getMaxProcessingTime()));
+        defaults.put("arrivals", "deterministic");
+        defaults.put("service", "exponential");
+        defaults.put("workerSelection", standard.getWorkerSelection().name());
+        defaults.put("simulationTime", "10000");
+        defaults.put("warmupObservationRequests", Integer.toString(standard.getWarmupObservationRequests()));
+        defaults.put(SEED, "1");
+        defaults.put(REPLICATIONS, "20");
+        return defaults;
+    }
+
+    private static String checkParameter(String parameter, String key) {
+        if (!PARAMETERS.contains(parameter) && !parameter.equals(SEED) && !parameter.equals(REPLICATIONS)) {
+            throw new IllegalArgumentException("Unknown experiment parameter " + key);
+        }
+        return parameter;
+    }
+
+    private static void expand(String experiment, Map<String, String> values, List<ExperimentPoint> points) {
+        List<String> keys = new ArrayList<>(PARAMETERS);
+        keys.add(SEED);
+        keys.add(REPLICATIONS);
+        List<List<String>> alternatives = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                alternatives.add(alternatives(key, values.get(key)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bad value of " + key + " in experiment " + experiment + ": "
+                        + e.getMessage(), e);
+            }
+        }
+
+        int[] choice = new int[keys.size()];
+        while (true) {
+            SortedMap<String, String> parameters = new TreeMap<>();
+            for (int i = 0; i < PARAMETERS.size(); i++) {
+                parameters.put(keys.get(i), alternatives.get(i).get(choice[i]));
+            }
+            long seed = Long.parseLong(alternatives.get(keys.size() - 2).get(choice[keys.size() - 2]));
+            int replications = Integer.parseInt(alternatives.get(keys.size() - 1).get(choice[keys.size() - 1]));
+            if (replications < 1) {
+                throw new IllegalArgumentException("Experiment " + experiment + " needs at least one replication");
+            }
+            points.add(new ExperimentPoint(experiment, parameters, toConfig(parameters), seed, replications));
+
+            int i = keys.size() - 1;
+            while (i >= 0 && ++choice[i] == alternatives.get(i).size()) {
+                choice[i--] = 0;
+            }
+            if (i < 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Splits a parameter into its alternatives and normalises each, so equal configurations written
+     * differently get the same cache key.
+     */
+    private static List<String> alternatives(String key, String value) {
+        List<String> alternatives = new ArrayList<>();
+        for (String alternative : value.split(",")) {
+            alternative = alternative.trim();
+            switch (key) {
+                case "numWorkers", "bufferCapacity", "warmupObservationRequests", SEED, REPLICATIONS -> {
+                    int range = alternative.indexOf("..");
+                    long from = Long.parseLong(range < 0 ? alternative : alternative.substring(0, range).trim());
+                    long to = range < 0 ? from : Long.parseLong(alternative.substring(range + 2).trim());
+                    if (to < from) {
+                        throw new IllegalArgumentException("empty range " + alternative);
+                    }
+                    for (long x = from; x <= to; x++) {
+                        alternatives.add(Long.toString(x));
+                    }
+                }
+                case "maxProcessingTime", "simulationTime" -> alternatives.add(Double.toString(positive(alternative)));
+                case "genIntervals" -> {
+                    List<String> intervals = new ArrayList<>();
+                    for (String interval : alternative.split("\\s+")) {
+                        intervals.add(Double.toString(positive(interval)));
+                    }
+                    alternatives.add(String.join(" ", intervals));
+                }
+                case "arrivals", "service" -> {
+                    String shape = alternative.toLowerCase(Locale.ROOT);
+                    shape(shape);
+                    int colon = shape.indexOf(':');
+                    alternatives.add(colon < 0 ? shape
+                            : shape.substring(0, colon) + ':' + Double.parseDouble(shape.substring(colon + 1)));
+                }
+                case "workerSelection" -> alternatives.add(WorkerSelection.valueOf(
+                        alternative.toUpperCase(Locale.ROOT).replace('-', '_')).name());
+                default -> throw new IllegalStateException("Unhandled parameter " + key);
+            }
+        }
+        return alternatives;
+    }
+
+    private static double positive(String value) {
+        double x = Double.parseDouble(value);
+        if (!(x > 0)) {
+            throw new IllegalArgumentException("expected a positive number, got " + value);
+        }
+        return x;
+    }
+
+    /**
+     * A shape with mean 1: {@code deterministic}, {@code exponential}, {@code erlang:<phases>},
+     * {@code lognormal:<cv>} or {@code hyperexponential:<scv>}.
+     */
+    static Distribution shape(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? null : spec.substring(colon + 1);
+        return switch (name) {
+            case "deterministic" -> new DeterministicDistribution(1);
+            case "exponential" -> new ExponentialDistribution(1);
+            case "erlang" -> new ErlangDistribution((int) Double.parseDouble(required(spec, argument)), 1);
+            case "lognormal" -> LogNormalDistribution.ofMean(1, Double.parseDouble(required(spec, argument)));
+            case "hyperexponential" -> HyperExponentialDistribution.balanced(1,
+                    Double.parseDouble(required(spec, argument)));
+            default -> throw new IllegalArgumentException("unknown distribution " + spec);
+        };
+    }
+
+    private static String required(String spec, String argument) {
+        if (argument == null) {
+            throw new IllegalArgumentException(spec + " needs a parameter after ':'");
+        }
+        return argument;
+    }
+
+    private static SimulationConfig toConfig(Map<String, String> parameters) {
+        List<Double> intervals = new ArrayList<>();
+        for (String interval : parameters.get("genIntervals").split(" ")) {
+            intervals.add(Double.parseDouble(interval));
+        }
+        int numWorkers = Integer.parseInt(parameters.get("numWorkers"));
+        int bufferCapacity = Integer.parseInt(parameters.get("bufferCapacity"));
+        if (numWorkers < 1 || bufferCapacity < 0) {
+            throw new IllegalArgumentException("Experiment needs at least one worker and a non-negative buffer, got "
+                    + numWorkers + " and " + bufferCapacity);
+        }
+        return SimulationConfig.builder()
+                .numWorkers(numWorkers)
+                .bufferCapacity(bufferCapacity)
+                .genIntervals(intervals)
+                .maxProcessingTime(Double.parseDouble(parameters.get("maxProcessingTime")))
+                .arrivalDistributions(Collections.nCopies(intervals.size(), shape(parameters.get("arrivals"))))
+                .serviceDistribution(shape(parameters.get("service")))
+                .workerSelection(WorkerSelection.valueOf(parameters.get("workerSelection")))
+                .simulationTime(Double.parseDouble(parameters.get("simulationTime")))
+                .warmupObservationRequests(Integer.parseInt(parameters.get("warmupObservationRequests")))
+                .build();
+    }
+}
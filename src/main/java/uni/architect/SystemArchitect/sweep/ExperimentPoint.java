@@ -0,0 +1,37 @@
+package uni.architect.SystemArchitect.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.Simulator;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * One configuration of an experiment plan together with the seed and the number of replications
+ * to run it with.
+ */
+@Getter
+@AllArgsConstructor
+public class ExperimentPoint {
+    private String experiment;
+    // normalised values of the model parameters, see ExperimentPlan.PARAMETERS
+    private SortedMap<String, String> parameters;
+    private SimulationConfig config;
+    private long seed;
+    private int replications;
+
+    /**
+     * Everything the results of a replication depend on, except the replication number. Points
+     * differing only in the number of replications share the key, so the shorter run is a prefix
+     * of the longer one.
+     */
+    public String cacheKey() {
+        StringBuilder key = new StringBuilder("engine=").append(Simulator.ENGINE_VERSION);
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            key.append(';').append(parameter.getKey()).append('=').append(parameter.getValue());
+        }
+        return key.append(";seed=").append(seed).toString();
+    }
+}
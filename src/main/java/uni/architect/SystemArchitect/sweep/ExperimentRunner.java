@@ -0,0 +1,104 @@
+package uni.architect.SystemArchitect.sweep;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.experiment.ReplicationRunner;
+import uni.architect.SystemArchitect.experiment.ReplicationSummary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs the points of an experiment plan on a fixed pool of threads, one point per task with its
+ * replications in sequence, and hands every point to the sink as soon as it is done, in completion
+ * order. Replications are seeded exactly like {@link ReplicationRunner#runAll}, so a point's results
+ * do not depend on the pool size or on what the cache already held.
+ * <p>
+ * Points with the same cache key are simulated once, for the largest replication count among them.
+ * With a cache, a point only simulates the replications beyond those already stored and stores the
+ * extended list afterwards.
+ */
+public class ExperimentRunner {
+    private final int threads;
+    // null disables caching
+    private final ResultCache cache;
+    @Getter
+    private int replicationsRun;
+    @Getter
+    private int replicationsCached;
+
+    public ExperimentRunner(int threads, ResultCache cache) {
+        this.threads = threads;
+        this.cache = cache;
+    }
+
+    /**
+     * @param sink called in the calling thread for every point, in completion order
+     */
+    public void run(List<ExperimentPoint> points, Consumer<PointResult> sink) {
+        Map<String, List<ExperimentPoint>> groups = new LinkedHashMap<>();
+        for (ExperimentPoint point : points) {
+            groups.computeIfAbsent(point.cacheKey(), key -> new ArrayList<>()).add(point);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<List<PointResult>> completion = new ExecutorCompletionService<>(pool);
+            for (Map.Entry<String, List<ExperimentPoint>> group : groups.entrySet()) {
+                completion.submit(() -> runGroup(group.getKey(), group.getValue()));
+            }
+            for (int i = 0; i < groups.size(); i++) {
+                List<PointResult> results = completion.take().get();
+                for (PointResult result : results) {
+                    replicationsCached += result.getCachedReplications();
+                    sink.accept(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Experiment was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Experiment point failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<PointResult> runGroup(String key, List<ExperimentPoint> points) {
+        long startNanos = System.nanoTime();
+        int needed = points.stream().mapToInt(ExperimentPoint::getReplications).max().orElseThrow();
+        List<SimulationResult> results = cache == null ? new ArrayList<>() : new ArrayList<>(cache.load(key));
+        int cached = results.size();
+        if (cached < needed) {
+            ExperimentPoint point = points.get(0);
+            SimulationConfig config = point.getConfig();
+            results.addAll(ReplicationRunner.runSequential(config, needed - cached, point.getSeed(), cached));
+            if (cache != null) {
+                cache.store(key, results);
+            }
+            countRun(needed - cached);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        List<PointResult> pointResults = new ArrayList<>(points.size());
+        for (ExperimentPoint point : points) {
+            int replications = point.getReplications();
+            pointResults.add(new PointResult(point, ReplicationSummary.of(results.subList(0, replications)),
+                    Math.min(cached, replications), seconds));
+        }
+        return pointResults;
+    }
+
+    private synchronized void countRun(int replications) {
+        replicationsRun += replications;
+    }
+}
@@ -0,0 +1,57 @@
+package uni.architect.SystemArchitect.sweep;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class JsonResultWriter extends ResultWriter {
+    // columns written as JSON strings, the rest are numbers
+    private static final List<String> TEXT_COLUMNS = List.of("experiment", "genIntervals", "arrivals", "service",
+            "workerSelection");
+
+    public JsonResultWriter(Path path, int numSources) {
+        super(path, numSources);
+    }
+
+    @Override
+    protected String format(List<String> values) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == null) {
+                continue;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(columns.get(i)).append("\":");
+            if (TEXT_COLUMNS.contains(columns.get(i))) {
+                json.append(string(values.get(i)));
+            } else {
+                json.append(number(values.get(i)));
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static String string(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    // JSON has no NaN or infinity, e.g. the half-width of a single replication
+    private static String number(String value) {
+        return value.equals("NaN") || value.contains("Infinity") ? "null" : value;
+    }
+}
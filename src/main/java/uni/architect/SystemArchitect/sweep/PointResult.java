@@ -0,0 +1,16 @@
+package uni.architect.SystemArchitect.sweep;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.architect.SystemArchitect.experiment.ReplicationSummary;
+
+@Getter
+@AllArgsConstructor
+public class PointResult {
+    private ExperimentPoint point;
+    private ReplicationSummary summary;
+    // replications taken from the cache instead of being simulated
+    private int cachedReplications;
+    // wall-clock time spent on the point, including reading and writing the cache
+    private double seconds;
+}
@@ -0,0 +1,121 @@
+package uni.architect.SystemArchitect.sweep;
+
+import uni.architect.SystemArchitect.SimulationResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Replication results on disk, one text file per {@link ExperimentPoint#cacheKey() cache key} named
+ * by its SHA-256. The file starts with the key itself, so a hash collision reads as a miss, and
+ * holds the counters of replications 0, 1, ... one per line; doubles are written in their shortest
+ * exact form, so a cached result equals the computed one.
+ * <p>
+ * Files are replaced atomically, so a runner killed halfway or a concurrent sweep over the same
+ * directory never leaves a truncated entry behind.
+ */
+public class ResultCache {
+    private static final String SUFFIX = ".txt";
+
+    private final Path directory;
+
+    public ResultCache(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * @return the cached replications in order, empty if there are none or the entry is unreadable
+     */
+    public List<SimulationResult> load(String key) {
+        List<SimulationResult> results = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path(key), StandardCharsets.UTF_8)) {
+            if (!key.equals(reader.readLine())) {
+                return results;
+            }
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                results.add(parse(line));
+            }
+        } catch (NoSuchFileException e) {
+            return results;
+        } catch (IOException | RuntimeException e) {
+            // a damaged entry is recomputed and overwritten
+            results.clear();
+        }
+        return results;
+    }
+
+    public void store(String key, List<SimulationResult> results) {
+        Path path = path(key);
+        try {
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write(key);
+                writer.newLine();
+                for (SimulationResult result : results) {
+                    writer.write(format(result));
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write cache entry " + path, e);
+        }
+    }
+
+    Path path(String key) {
+        return directory.resolve(hash(key) + SUFFIX);
+    }
+
+    static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // simulationTime requestCount eventCount kpd warmupTime declined...
+    private static String format(SimulationResult result) {
+        StringBuilder line = new StringBuilder()
+                .append(result.getSimulationTime()).append(' ')
+                .append(result.getRequestCount()).append(' ')
+                .append(result.getEventCount()).append(' ')
+                .append(result.getKpd()).append(' ')
+                .append(result.getWarmupTime());
+        for (long declined : result.getDeclinedBySource()) {
+            line.append(' ').append(declined);
+        }
+        return line.toString();
+    }
+
+    private static SimulationResult parse(String line) {
+        String[] fields = line.split(" ");
+        long[] declinedBySource = new long[fields.length - 5];
+        long declinedTotal = 0;
+        for (int i = 0; i < declinedBySource.length; i++) {
+            declinedBySource[i] = Long.parseLong(fields[5 + i]);
+            declinedTotal += declinedBySource[i];
+        }
+        return new SimulationResult(Double.parseDouble(fields[0]), Long.parseLong(fields[1]), declinedTotal,
+                Double.parseDouble(fields[3]), declinedBySource, Long.parseLong(fields[2]), null, null,
+                Double.parseDouble(fields[4]), null);
+    }
+}
@@ -0,0 +1,93 @@
+package uni.architect.SystemArchitect.sweep;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams one record per finished point, flushed immediately, so a long sweep can be watched and a
+ * crashed one still leaves everything finished so far. Columns: experiment, the model parameters,
+ * seed, replications, cached replications, seconds, kpd and every source's decline probability,
+ * each with the half-width of its 95% confidence interval.
+ */
+public abstract class ResultWriter implements AutoCloseable {
+    private final Writer writer;
+    protected final List<String> columns;
+
+    protected ResultWriter(Path path, int numSources) {
+        try {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open result file " + path, e);
+        }
+        columns = new ArrayList<>();
+        columns.add("experiment");
+        columns.addAll(ExperimentPlan.PARAMETERS);
+        columns.addAll(List.of(ExperimentPlan.SEED, ExperimentPlan.REPLICATIONS, "cached", "seconds",
+                "kpd", "kpdHalfWidth"));
+        for (int source = 0; source < numSources; source++) {
+            columns.add("decline" + (source + 1));
+            columns.add("decline" + (source + 1) + "HalfWidth");
+        }
+    }
+
+    /**
+     * CSV for {@code .csv} files, otherwise JSON Lines: one JSON object per point and line.
+     *
+     * @param numSources the largest number of sources among the points
+     */
+    public static ResultWriter open(Path path, int numSources) {
+        return path.getFileName().toString().endsWith(".csv")
+                ? new CsvResultWriter(path, numSources)
+                : new JsonResultWriter(path, numSources);
+    }
+
+    public void write(PointResult result) {
+        List<String> values = new ArrayList<>(columns.size());
+        ExperimentPoint point = result.getPoint();
+        values.add(point.getExperiment());
+        for (String parameter : ExperimentPlan.PARAMETERS) {
+            values.add(point.getParameters().get(parameter));
+        }
+        values.add(Long.toString(point.getSeed()));
+        values.add(Integer.toString(point.getReplications()));
+        values.add(Integer.toString(result.getCachedReplications()));
+        values.add(Double.toString(result.getSeconds()));
+        values.add(Double.toString(result.getSummary().getKpdInterval().getMean()));
+        values.add(Double.toString(result.getSummary().getKpdInterval().getHalfWidth()));
+        for (int source = 0; source < result.getSummary().getNumSources(); source++) {
+            values.add(Double.toString(result.getSummary().getDeclineInterval(source).getMean()));
+            values.add(Double.toString(result.getSummary().getDeclineInterval(source).getHalfWidth()));
+        }
+        while (values.size() < columns.size()) {
+            values.add(null);
+        }
+        line(format(values));
+    }
+
+    protected abstract String format(List<String> values);
+
+    protected void line(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write results", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close result file", e);
+        }
+    }
+}
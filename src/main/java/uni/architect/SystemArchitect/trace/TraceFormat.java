@@ -0,0 +1,57 @@
+package uni.architect.SystemArchitect.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of trace segment files. Every segment starts with a fixed header followed by fixed-width
+ * little-endian records, so record {@code i} lives at {@code HEADER_SIZE + i * recordSize}.
+ * <pre>
+ * header:  magic:long version:int numSources:int numWorkers:int recordSize:int recordCount:long firstTime:double
+ * record:  time:double type:int object:int requestGenerator:int affectedWorker:int requestIndex:long
+ *          requests:long declined:long bufferCount:int[numSources]
+ *          (workerRequestIndex:long workerCompletionTime:double workerRequestGenerator:int)[numWorkers]
+ * </pre>
+ * A worker request generator of -1 means the worker is idle, a request generator of -1 means the
+ * event has no request.
+ */
+final class TraceFormat {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final long MAGIC = 0x31304352544F4D53L; // "SMOTRC01" read as a little-endian long
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int HEADER_NUM_SOURCES = 12;
+    static final int HEADER_NUM_WORKERS = 16;
+    static final int HEADER_RECORD_SIZE = 20;
+    static final int HEADER_RECORD_COUNT = 24;
+    static final int HEADER_FIRST_TIME = 32;
+
+    static final int TIME = 0;
+    static final int TYPE = 8;
+    static final int OBJECT = 12;
+    static final int REQUEST_GENERATOR = 16;
+    static final int AFFECTED_WORKER = 20;
+    static final int REQUEST_INDEX = 24;
+    static final int REQUESTS = 32;
+    static final int DECLINED = 40;
+    static final int BUFFER_COUNTS = 48;
+    static final int WORKER_SIZE = 20;
+
+    static final String SEGMENT_PREFIX = "trace-";
+    static final String SEGMENT_SUFFIX = ".bin";
+
+    private TraceFormat() {
+    }
+
+    static int recordSize(int numSources, int numWorkers) {
+        return BUFFER_COUNTS + 4 * numSources + WORKER_SIZE * numWorkers;
+    }
+
+    static int workerOffset(int numSources, int worker) {
+        return BUFFER_COUNTS + 4 * numSources + WORKER_SIZE * worker;
+    }
+
+    static String segmentName(int segment) {
+        return String.format("%s%05d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,177 @@
+package uni.architect.SystemArchitect.trace;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sequential reader over the segments written by {@link TraceWriter}. Segments are mapped
+ * read-only on first access; {@link #seek(double)} finds a time by binary search over the segment
+ * headers and then over the fixed-width records, without scanning the trace.
+ */
+public class TraceReader implements AutoCloseable {
+    private final List<Segment> segments = new ArrayList<>();
+    @Getter
+    private final int numSources;
+    @Getter
+    private final int numWorkers;
+    private final int recordSize;
+
+    private int segment = 0;
+    private long record = 0;
+
+    private static class Segment {
+        private final FileChannel channel;
+        private final long recordCount;
+        private final double firstTime;
+        private MappedByteBuffer mapped;
+
+        Segment(FileChannel channel, long recordCount, double firstTime) {
+            this.channel = channel;
+            this.recordCount = recordCount;
+            this.firstTime = firstTime;
+        }
+    }
+
+    public TraceReader(Path directory) {
+        int sources = -1;
+        int workers = -1;
+        int size = -1;
+        try {
+            for (Path path : listSegments(directory)) {
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceFormat.HEADER_SIZE);
+                header.order(TraceFormat.ORDER);
+                if (header.getLong(0) != TraceFormat.MAGIC || header.getInt(8) != TraceFormat.VERSION) {
+                    channel.close();
+                    throw new IllegalArgumentException("Not a trace segment: " + path);
+                }
+                sources = header.getInt(TraceFormat.HEADER_NUM_SOURCES);
+                workers = header.getInt(TraceFormat.HEADER_NUM_WORKERS);
+                size = header.getInt(TraceFormat.HEADER_RECORD_SIZE);
+                segments.add(new Segment(channel, header.getLong(TraceFormat.HEADER_RECORD_COUNT),
+                        header.getDouble(TraceFormat.HEADER_FIRST_TIME)));
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Cannot open trace in " + directory, e);
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("No trace segments in " + directory);
+        }
+        this.numSources = sources;
+        this.numWorkers = workers;
+        this.recordSize = size;
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(TraceFormat.SEGMENT_PREFIX) && name.endsWith(TraceFormat.SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public TraceRecord newRecord() {
+        return new TraceRecord(numSources, numWorkers);
+    }
+
+    public long getRecordCount() {
+        long count = 0;
+        for (Segment s : segments) {
+            count += s.recordCount;
+        }
+        return count;
+    }
+
+    /**
+     * Positions the reader at the first record with {@code time >= from}.
+     */
+    public void seek(double from) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).recordCount > 0 && segments.get(mid).firstTime <= from) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        segment = low;
+
+        Segment s = segments.get(segment);
+        long first = 0;
+        long last = s.recordCount;
+        while (first < last) {
+            long mid = (first + last) >>> 1;
+            if (timeAt(s, mid) < from) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        record = first;
+    }
+
+    public boolean next(TraceRecord target) {
+        while (segment < segments.size() && record >= segments.get(segment).recordCount) {
+            segment++;
+            record = 0;
+        }
+        if (segment >= segments.size()) {
+            return false;
+        }
+        Segment s = segments.get(segment);
+        target.read(map(s), offset(record));
+        record++;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (Segment s : segments) {
+            try {
+                s.channel.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+
+    private double timeAt(Segment s, long index) {
+        return map(s).getDouble(offset(index) + TraceFormat.TIME);
+    }
+
+    private int offset(long index) {
+        return (int) (TraceFormat.HEADER_SIZE + index * recordSize);
+    }
+
+    private MappedByteBuffer map(Segment s) {
+        if (s.mapped == null) {
+            try {
+                s.mapped = s.channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        TraceFormat.HEADER_SIZE + s.recordCount * recordSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map trace segment", e);
+            }
+            s.mapped.order(TraceFormat.ORDER);
+        }
+        return s.mapped;
+    }
+}
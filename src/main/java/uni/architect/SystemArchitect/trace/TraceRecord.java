@@ -0,0 +1,66 @@
+package uni.architect.SystemArchitect.trace;
+
+import lombok.Getter;
+import uni.architect.SystemArchitect.model.Event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One decoded trace record. Instances are reused by {@link TraceReader#next(TraceRecord)}.
+ */
+@Getter
+public class TraceRecord {
+    private static final Event.EventType[] TYPES = Event.EventType.values();
+
+    private double time;
+    private Event.EventType type;
+    private int objectNumber;
+    private int requestGenerator;
+    private long requestIndex;
+    private int affectedWorker;
+    private long requests;
+    private long declined;
+    private final int[] bufferCounts;
+    private final int[] workerRequestGenerators;
+    private final long[] workerRequestIndexes;
+    private final double[] workerCompletionTimes;
+
+    public TraceRecord(int numSources, int numWorkers) {
+        bufferCounts = new int[numSources];
+        workerRequestGenerators = new int[numWorkers];
+        workerRequestIndexes = new long[numWorkers];
+        workerCompletionTimes = new double[numWorkers];
+    }
+
+    public boolean hasRequest() {
+        return requestGenerator >= 0;
+    }
+
+    public boolean isWorkerBusy(int worker) {
+        return workerRequestGenerators[worker] >= 0;
+    }
+
+    public static String requestName(int generator, long index) {
+        return (generator + 1) + "." + index;
+    }
+
+    void read(ByteBuffer buffer, int offset) {
+        time = buffer.getDouble(offset + TraceFormat.TIME);
+        type = TYPES[buffer.getInt(offset + TraceFormat.TYPE)];
+        objectNumber = buffer.getInt(offset + TraceFormat.OBJECT);
+        requestGenerator = buffer.getInt(offset + TraceFormat.REQUEST_GENERATOR);
+        affectedWorker = buffer.getInt(offset + TraceFormat.AFFECTED_WORKER);
+        requestIndex = buffer.getLong(offset + TraceFormat.REQUEST_INDEX);
+        requests = buffer.getLong(offset + TraceFormat.REQUESTS);
+        declined = buffer.getLong(offset + TraceFormat.DECLINED);
+        for (int i = 0; i < bufferCounts.length; i++) {
+            bufferCounts[i] = buffer.getInt(offset + TraceFormat.BUFFER_COUNTS + 4 * i);
+        }
+        for (int i = 0; i < workerRequestGenerators.length; i++) {
+            int workerOffset = offset + TraceFormat.workerOffset(bufferCounts.length, i);
+            workerRequestIndexes[i] = buffer.getLong(workerOffset);
+            workerCompletionTimes[i] = buffer.getDouble(workerOffset + 8);
+            workerRequestGenerators[i] = buffer.getInt(workerOffset + 16);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package uni.architect.SystemArchitect.trace;
+
+import uni.architect.SystemArchitect.EventTable;
+import uni.architect.SystemArchitect.model.Event;
+
+import java.nio.file.Path;
+
+/**
+ * Offline renderer of binary traces: prints the calendar table of the step-by-step mode or CSV.
+ * <p>
+ * Usage: {@code TraceRenderer <directory> [table|csv] [from] [to]}
+ */
+public class TraceRenderer {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Использование: TraceRenderer <каталог> [table|csv] [от] [до]");
+            return;
+        }
+        Path directory = Path.of(args[0]);
+        boolean csv = args.length > 1 && args[1].equals("csv");
+        double from = args.length > 2 ? Double.parseDouble(args[2]) : Double.NEGATIVE_INFINITY;
+        double to = args.length > 3 ? Double.parseDouble(args[3]) : Double.POSITIVE_INFINITY;
+
+        try (TraceReader reader = new TraceReader(directory)) {
+            if (csv) {
+                renderCsv(reader, from, to);
+            } else {
+                renderTable(reader, from, to);
+            }
+        }
+    }
+
+    public static void renderTable(TraceReader reader, double from, double to) {
+        TraceRecord record = reader.newRecord();
+        reader.seek(from);
+        EventTable.printHeader();
+        while (reader.next(record) && record.getTime() <= to) {
+            String eventType = record.getType() == Event.EventType.GENERATION ? "И" : "П";
+            String requestNum = record.hasRequest()
+                    ? TraceRecord.requestName(record.getRequestGenerator(), record.getRequestIndex())
+                    : "-";
+            EventTable.printRow(eventType + (record.getObjectNumber() + 1), record.getTime(), record.getRequests(),
+                    String.valueOf(record.getDeclined()), requestNum, workerState(record), bufferState(record));
+            EventTable.printSysState(deviceStates(record), null);
+        }
+        EventTable.printFooter();
+    }
+
+    public static void renderCsv(TraceReader reader, double from, double to) {
+        StringBuilder header = new StringBuilder("time,event,object,request,requests,declined,affected_worker");
+        for (int i = 0; i < reader.getNumSources(); i++) {
+            header.append(",buffer_").append(i + 1);
+        }
+        for (int i = 0; i < reader.getNumWorkers(); i++) {
+            header.append(",worker_").append(i + 1).append("_request,worker_").append(i + 1).append("_until");
+        }
+        System.out.println(header);
+
+        TraceRecord record = reader.newRecord();
+        reader.seek(from);
+        StringBuilder line = new StringBuilder();
+        while (reader.next(record) && record.getTime() <= to) {
+            line.setLength(0);
+            line.append(record.getTime()).append(',')
+                    .append(record.getType()).append(',')
+                    .append(record.getObjectNumber() + 1).append(',')
+                    .append(record.hasRequest() ? TraceRecord.requestName(record.getRequestGenerator(), record.getRequestIndex()) : "").append(',')
+                    .append(record.getRequests()).append(',')
+                    .append(record.getDeclined()).append(',')
+                    .append(record.getAffectedWorker() + 1);
+            for (int count : record.getBufferCounts()) {
+                line.append(',').append(count);
+            }
+            for (int i = 0; i < reader.getNumWorkers(); i++) {
+                if (record.isWorkerBusy(i)) {
+                    line.append(',').append(TraceRecord.requestName(record.getWorkerRequestGenerators()[i],
+                                    record.getWorkerRequestIndexes()[i]))
+                            .append(',').append(record.getWorkerCompletionTimes()[i]);
+                } else {
+                    line.append(",,");
+                }
+            }
+            System.out.println(line);
+        }
+    }
+
+    private static String workerState(TraceRecord record) {
+        int worker = record.getAffectedWorker();
+        if (worker == -1) {
+            return "Все приборы заняты";
+        }
+        String workerName = "П" + (worker + 1);
+        if (record.isWorkerBusy(worker)) {
+            return workerName + ": обрабатывает " + TraceRecord.requestName(record.getWorkerRequestGenerators()[worker],
+                    record.getWorkerRequestIndexes()[worker]);
+        }
+        return workerName + ": свободен";
+    }
+
+    // the trace keeps only the occupancy of every package, not the request numbers
+    private static String bufferState(TraceRecord record) {
+        StringBuilder sb = new StringBuilder("[");
+        int[] counts = record.getBufferCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                sb.append(i + 1).append(": ").append(counts[i]).append(" шт.; ");
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    private static String deviceStates(TraceRecord record) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < record.getWorkerRequestGenerators().length; i++) {
+            sb.append("П").append(i + 1).append(": ");
+            if (record.isWorkerBusy(i)) {
+                sb.append(TraceRecord.requestName(record.getWorkerRequestGenerators()[i], record.getWorkerRequestIndexes()[i]))
+                        .append(" до ").append(String.format("%.2f", record.getWorkerCompletionTimes()[i])).append(" ");
+            } else {
+                sb.append("свободен ");
+            }
+        }
+        return sb.toString();
+    }
+}
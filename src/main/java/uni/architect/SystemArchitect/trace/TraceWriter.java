@@ -0,0 +1,141 @@
+package uni.architect.SystemArchitect.trace;
+
+import uni.architect.SystemArchitect.model.Event;
+import uni.architect.SystemArchitect.model.Request;
+import uni.architect.SystemArchitect.model.RequestBuffer;
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends fixed-width binary event records to memory-mapped segment files in a directory. A new
+ * segment is started when the current one is full; the record count in the segment header is
+ * published every {@code flushRecords} records, and the segment is forced to disk and trimmed to
+ * its records when it is completed or the writer is closed.
+ */
+public class TraceWriter implements AutoCloseable {
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+    public static final int DEFAULT_FLUSH_RECORDS = 4096;
+
+    private final Path directory;
+    private final int numSources;
+    private final int numWorkers;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final int flushRecords;
+
+    private int segment = -1;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int segmentRecords;
+
+    public TraceWriter(Path directory, int numSources, int numWorkers) {
+        this(directory, numSources, numWorkers, DEFAULT_SEGMENT_BYTES, DEFAULT_FLUSH_RECORDS);
+    }
+
+    public TraceWriter(Path directory, int numSources, int numWorkers, long segmentBytes, int flushRecords) {
+        this.directory = directory;
+        this.numSources = numSources;
+        this.numWorkers = numWorkers;
+        this.recordSize = TraceFormat.recordSize(numSources, numWorkers);
+        this.recordsPerSegment = (int) Math.max(1, Math.min(Integer.MAX_VALUE / recordSize,
+                (segmentBytes - TraceFormat.HEADER_SIZE) / recordSize));
+        this.flushRecords = flushRecords;
+        try {
+            Files.createDirectories(directory);
+            // segments of a previous run would otherwise be read as a continuation of this one
+            for (Path stale : TraceReader.listSegments(directory)) {
+                Files.delete(stale);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create trace directory " + directory, e);
+        }
+        openSegment();
+    }
+
+    public void write(Event.EventType type, int objectNumber, double time, Request request, int affectedWorker,
+                      long requests, long declined, RequestBuffer buffer, List<Worker> workers) {
+        if (segmentRecords == recordsPerSegment) {
+            closeSegment();
+            openSegment();
+        }
+        if (segmentRecords == 0) {
+            mapped.putDouble(TraceFormat.HEADER_FIRST_TIME, time);
+        }
+
+        int offset = TraceFormat.HEADER_SIZE + segmentRecords * recordSize;
+        mapped.putDouble(offset + TraceFormat.TIME, time);
+        mapped.putInt(offset + TraceFormat.TYPE, type.ordinal());
+        mapped.putInt(offset + TraceFormat.OBJECT, objectNumber);
+        mapped.putInt(offset + TraceFormat.REQUEST_GENERATOR, request != null ? request.getGeneratorNumber() : -1);
+        mapped.putInt(offset + TraceFormat.AFFECTED_WORKER, affectedWorker);
+        mapped.putLong(offset + TraceFormat.REQUEST_INDEX, request != null ? request.getIndex() : -1);
+        mapped.putLong(offset + TraceFormat.REQUESTS, requests);
+        mapped.putLong(offset + TraceFormat.DECLINED, declined);
+        for (int i = 0; i < numSources; i++) {
+            mapped.putInt(offset + TraceFormat.BUFFER_COUNTS + 4 * i, buffer.getCount(i));
+        }
+        for (int i = 0; i < numWorkers; i++) {
+            Worker worker = workers.get(i);
+            Request current = worker.isBusy() ? worker.getCurRequest() : null;
+            int workerOffset = offset + TraceFormat.workerOffset(numSources, i);
+            mapped.putLong(workerOffset, current != null ? current.getIndex() : -1);
+            mapped.putDouble(workerOffset + 8, worker.getCompletionTime());
+            mapped.putInt(workerOffset + 16, current != null ? current.getGeneratorNumber() : -1);
+        }
+
+        if (++segmentRecords % flushRecords == 0) {
+            mapped.putLong(TraceFormat.HEADER_RECORD_COUNT, segmentRecords);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeSegment();
+    }
+
+    private void openSegment() {
+        segment++;
+        Path path = directory.resolve(TraceFormat.segmentName(segment));
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    TraceFormat.HEADER_SIZE + (long) recordsPerSegment * recordSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trace segment " + path, e);
+        }
+        mapped.order(TraceFormat.ORDER);
+        mapped.putLong(0, TraceFormat.MAGIC);
+        mapped.putInt(8, TraceFormat.VERSION);
+        mapped.putInt(TraceFormat.HEADER_NUM_SOURCES, numSources);
+        mapped.putInt(TraceFormat.HEADER_NUM_WORKERS, numWorkers);
+        mapped.putInt(TraceFormat.HEADER_RECORD_SIZE, recordSize);
+        mapped.putLong(TraceFormat.HEADER_RECORD_COUNT, 0);
+        segmentRecords = 0;
+    }
+
+    private void closeSegment() {
+        if (channel == null) {
+            return;
+        }
+        mapped.putLong(TraceFormat.HEADER_RECORD_COUNT, segmentRecords);
+        mapped.force();
+        mapped = null;
+        try {
+            // segments are mapped at full size up front, the last one is usually only partly used
+            channel.truncate(TraceFormat.HEADER_SIZE + (long) segmentRecords * recordSize);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close trace segment " + segment, e);
+        }
+        channel = null;
+    }
+}
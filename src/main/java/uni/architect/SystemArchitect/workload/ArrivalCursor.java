@@ -0,0 +1,102 @@
+package uni.architect.SystemArchitect.workload;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Forward cursor over the arrivals of one source (or of all sources) in a {@link WorkloadLog}.
+ * The file is read through a sliding read-only mapping: only one window is mapped at a time, and
+ * each window is loaded in one sequential pass as soon as it is mapped, so memory stays bounded by
+ * the window size whatever the size of the log.
+ * <p>
+ * Times are relative to the start of the log; the service time is NaN when the log has none.
+ */
+public abstract class ArrivalCursor {
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+    // -1 reads the records of every source
+    protected final int source;
+    protected final double startTime;
+
+    protected MappedByteBuffer window;
+    protected long windowStart;
+    protected long position;
+
+    @Getter
+    protected double time;
+    @Getter
+    protected double serviceTime;
+    @Getter
+    protected int recordSource;
+    // offset of the current record, valid after advance() returned true
+    @Getter
+    protected long recordPosition;
+
+    ArrivalCursor(FileChannel channel, long fileSize, int windowBytes, long dataStart, int source, double startTime) {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.windowBytes = windowBytes;
+        this.source = source;
+        this.startTime = startTime;
+        this.position = dataStart;
+        this.time = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Moves to the next arrival of the source.
+     *
+     * @return false when the log is exhausted
+     */
+    public abstract boolean advance();
+
+    /**
+     * Repositions the cursor on a record previously reported by {@link #getRecordPosition()} and
+     * reads it again, e.g. when a simulator is restored from a snapshot.
+     */
+    public boolean seek(long recordPosition) {
+        moveTo(recordPosition);
+        return advance();
+    }
+
+    // continues reading at a record boundary without checking the order against earlier records
+    void moveTo(long position) {
+        this.position = position;
+        time = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Makes {@code [offset, offset + length)} addressable in {@link #window}, clamped to the end of
+     * the file, and returns the number of bytes available from {@code offset}.
+     */
+    protected int ensureMapped(long offset, int length) {
+        long end = Math.min(fileSize, offset + length);
+        if (window == null || offset < windowStart || end > windowStart + window.capacity()) {
+            long size = Math.min(windowBytes, fileSize - offset);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map workload log", e);
+            }
+            window.order(WorkloadFormat.ORDER);
+            window.load();
+            windowStart = offset;
+        }
+        return (int) (end - offset);
+    }
+
+    protected long getFileSize() {
+        return fileSize;
+    }
+
+    protected void checkOrder(double next) {
+        if (next < time) {
+            throw new IllegalStateException("Workload log is not ordered by time at offset " + recordPosition
+                    + ": " + (next + startTime) + " after " + (time + startTime));
+        }
+    }
+}
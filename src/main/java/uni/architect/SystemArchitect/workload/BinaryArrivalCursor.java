@@ -0,0 +1,33 @@
+package uni.architect.SystemArchitect.workload;
+
+import java.nio.channels.FileChannel;
+
+class BinaryArrivalCursor extends ArrivalCursor {
+
+    BinaryArrivalCursor(FileChannel channel, long fileSize, int windowBytes, int source, double startTime) {
+        super(channel, fileSize, windowBytes - windowBytes % WorkloadFormat.RECORD_SIZE, WorkloadFormat.HEADER_SIZE,
+                source, startTime);
+    }
+
+    @Override
+    public boolean advance() {
+        while (position + WorkloadFormat.RECORD_SIZE <= getFileSize()) {
+            ensureMapped(position, WorkloadFormat.RECORD_SIZE);
+            int offset = (int) (position - windowStart);
+            long current = position;
+            position += WorkloadFormat.RECORD_SIZE;
+            int recordSource = window.getInt(offset + WorkloadFormat.SOURCE);
+            if (source >= 0 && recordSource != source) {
+                continue;
+            }
+            double next = window.getDouble(offset + WorkloadFormat.TIME) - startTime;
+            recordPosition = current;
+            checkOrder(next);
+            time = next;
+            serviceTime = window.getDouble(offset + WorkloadFormat.SERVICE_TIME);
+            this.recordSource = recordSource;
+            return true;
+        }
+        return false;
+    }
+}
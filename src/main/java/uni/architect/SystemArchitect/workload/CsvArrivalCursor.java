@@ -0,0 +1,139 @@
+package uni.architect.SystemArchitect.workload;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses {@code time,source,serviceTime} lines straight from the mapped bytes without creating
+ * strings. Sources are numbered from 1 as in the UI, the service time column may be empty or
+ * missing. Lines that do not start with a digit (headers, comments) are skipped.
+ */
+class CsvArrivalCursor extends ArrivalCursor {
+    static final int MAX_LINE = 1024;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // cursor into the current line, relative to the window
+    private int at;
+    private int lineEnd;
+
+    CsvArrivalCursor(FileChannel channel, long fileSize, int windowBytes, int source, double startTime) {
+        super(channel, fileSize, windowBytes, 0, source, startTime);
+    }
+
+    @Override
+    public boolean advance() {
+        while (position < getFileSize()) {
+            int available = ensureMapped(position, MAX_LINE);
+            int begin = (int) (position - windowStart);
+            lineEnd = begin;
+            while (lineEnd - begin < available && window.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd - begin == available && position + available < getFileSize()) {
+                throw new IllegalStateException("Workload line at offset " + position + " is longer than "
+                        + MAX_LINE + " bytes");
+            }
+            long current = position;
+            position += lineEnd - begin + 1;
+            if (lineEnd > begin && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            at = begin;
+            if (at == lineEnd || !isDigit(window.get(at))) {
+                continue;
+            }
+
+            double next = parseDouble();
+            expect(',', current);
+            int recordSource = (int) parseLong() - 1;
+            if (source >= 0 && recordSource != source) {
+                continue;
+            }
+            double service = Double.NaN;
+            if (at < lineEnd && window.get(at) == ',') {
+                at++;
+                if (at < lineEnd) {
+                    service = parseDouble();
+                }
+            }
+            recordPosition = current;
+            next -= startTime;
+            checkOrder(next);
+            time = next;
+            serviceTime = service;
+            this.recordSource = recordSource;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char separator, long line) {
+        if (at >= lineEnd || window.get(at) != separator) {
+            throw new IllegalStateException("Malformed workload line at offset " + line);
+        }
+        at++;
+    }
+
+    private long parseLong() {
+        long value = 0;
+        while (at < lineEnd && isDigit(window.get(at))) {
+            value = value * 10 + (window.get(at++) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Exact for up to 15 significant digits and decimal exponents up to 22, which covers timestamps
+     * and durations; anything longer falls back to {@link Double#parseDouble(String)}.
+     */
+    private double parseDouble() {
+        int begin = at;
+        boolean negative = at < lineEnd && window.get(at) == '-';
+        if (negative) {
+            at++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        while (at < lineEnd) {
+            byte b = window.get(at);
+            if (isDigit(b)) {
+                if (mantissa != 0 || b != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+            at++;
+        }
+        boolean simple = digits <= 15 && scale < POWERS_OF_TEN.length;
+        if (at < lineEnd && (window.get(at) == 'e' || window.get(at) == 'E')) {
+            at++;
+            while (at < lineEnd && window.get(at) != ',') {
+                at++;
+            }
+            simple = false;
+        }
+        if (!simple) {
+            byte[] text = new byte[at - begin];
+            window.get(begin, text);
+            return Double.parseDouble(new String(text, StandardCharsets.US_ASCII));
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,77 @@
+package uni.architect.SystemArchitect.workload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts a CSV workload log into the binary format of {@link WorkloadFormat}, streaming through
+ * a fixed-size output buffer.
+ * <p>
+ * Usage: {@code WorkloadConverter <input.csv> <output.bin>}
+ */
+public class WorkloadConverter {
+    private static final int BUFFER_RECORDS = 1 << 16;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Использование: WorkloadConverter <журнал.csv> <журнал.bin>");
+            return;
+        }
+        long records = convert(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Записано %d заявок в %s%n", records, args[1]);
+    }
+
+    /**
+     * @return number of records written
+     */
+    public static long convert(Path csv, Path output) {
+        try (WorkloadLog log = new WorkloadLog(csv);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (log.isBinary()) {
+                throw new IllegalArgumentException(csv + " is already a binary workload log");
+            }
+            ArrivalCursor cursor = log.cursor(-1);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * WorkloadFormat.RECORD_SIZE)
+                    .order(WorkloadFormat.ORDER);
+            long records = 0;
+            int numSources = 0;
+            out.position(WorkloadFormat.HEADER_SIZE);
+            while (cursor.advance()) {
+                if (!buffer.hasRemaining()) {
+                    writeFully(out, buffer.flip());
+                    buffer.clear();
+                }
+                buffer.putDouble(cursor.getTime() + log.getStartTime())
+                        .putDouble(cursor.getServiceTime())
+                        .putInt(cursor.getRecordSource())
+                        .putInt(0);
+                numSources = Math.max(numSources, cursor.getRecordSource() + 1);
+                records++;
+            }
+            writeFully(out, buffer.flip());
+
+            ByteBuffer header = ByteBuffer.allocate(WorkloadFormat.HEADER_SIZE).order(WorkloadFormat.ORDER)
+                    .putLong(WorkloadFormat.MAGIC)
+                    .putInt(WorkloadFormat.VERSION)
+                    .putInt(numSources)
+                    .putLong(records)
+                    .putDouble(log.getStartTime());
+            out.position(0);
+            writeFully(out, header.flip());
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot convert " + csv + " to " + output, e);
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package uni.architect.SystemArchitect.workload;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of binary workload logs: a fixed header followed by fixed-width little-endian records in
+ * the order of the original log, so record {@code i} lives at {@code HEADER_SIZE + i * RECORD_SIZE}.
+ * <pre>
+ * header:  magic:long version:int numSources:int recordCount:long startTime:double
+ * record:  time:double serviceTime:double source:int reserved:int
+ * </pre>
+ * A service time of NaN means the log has none and the worker samples it from the configured
+ * distribution.
+ */
+final class WorkloadFormat {
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final long MAGIC = 0x31304C4B574F4D53L; // "SMOWKL01" read as a little-endian long
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    static final int HEADER_NUM_SOURCES = 12;
+    static final int HEADER_RECORD_COUNT = 16;
+    static final int HEADER_START_TIME = 24;
+
+    static final int RECORD_SIZE = 24;
+    static final int TIME = 0;
+    static final int SERVICE_TIME = 8;
+    static final int SOURCE = 16;
+
+    private WorkloadFormat() {
+    }
+}
@@ -0,0 +1,98 @@
+package uni.architect.SystemArchitect.workload;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Production log of arrivals (timestamp, source, optional service time) that drives the
+ * generators instead of the arrival distributions. The file is either the compact binary format
+ * written by {@link WorkloadConverter} or plain CSV; both are read through memory mappings in a
+ * single pass whose records are handed out to the sources, so the log is never loaded into the
+ * heap. Times are shifted so
+ * that the first record of the log arrives at model time 0.
+ */
+public class WorkloadLog implements AutoCloseable {
+    public static final int DEFAULT_WINDOW_BYTES = 8 << 20;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+    @Getter
+    private final boolean binary;
+    // 0 for CSV logs, where the number of sources is not known without a full pass
+    @Getter
+    private final int numSources;
+    @Getter
+    private final double startTime;
+
+    public WorkloadLog(Path file) {
+        this(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    public WorkloadLog(Path file, int windowBytes) {
+        if (windowBytes < CsvArrivalCursor.MAX_LINE) {
+            throw new IllegalArgumentException("Window of " + windowBytes + " bytes is smaller than a CSV line");
+        }
+        this.file = file;
+        this.windowBytes = windowBytes;
+        ByteBuffer header = ByteBuffer.allocate(WorkloadFormat.HEADER_SIZE).order(WorkloadFormat.ORDER);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileSize = channel.size();
+            channel.read(header, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open workload log " + file, e);
+        }
+        binary = fileSize >= WorkloadFormat.HEADER_SIZE && header.getLong(0) == WorkloadFormat.MAGIC;
+        if (binary) {
+            if (header.getInt(8) != WorkloadFormat.VERSION) {
+                close();
+                throw new IllegalArgumentException("Unsupported workload log version " + header.getInt(8) + " in " + file);
+            }
+            numSources = header.getInt(WorkloadFormat.HEADER_NUM_SOURCES);
+            startTime = header.getDouble(WorkloadFormat.HEADER_START_TIME);
+        } else {
+            numSources = 0;
+            ArrivalCursor first = new CsvArrivalCursor(channel, fileSize, windowBytes, -1, 0.0);
+            startTime = first.advance() ? first.getTime() : 0.0;
+        }
+    }
+
+    /**
+     * @param source source number from 0, or -1 for the records of all sources in log order
+     */
+    public ArrivalCursor cursor(int source) {
+        if (binary) {
+            return new BinaryArrivalCursor(channel, fileSize, windowBytes, source, startTime);
+        }
+        return new CsvArrivalCursor(channel, fileSize, windowBytes, source, startTime);
+    }
+
+    /**
+     * Cursors over the arrivals of sources {@code 0 .. numSources - 1} that share one pass over the
+     * log, see {@link WorkloadSplitter}.
+     */
+    public ArrivalCursor[] cursors(int numSources) {
+        return new WorkloadSplitter(this, numSources).getCursors();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package uni.architect.SystemArchitect.workload;
+
+/**
+ * Reads a {@link WorkloadLog} in a single pass for all sources and hands every record to the
+ * cursor of its source through a small lookahead queue, instead of every source scanning the whole
+ * log for its own records. A queue only grows while another source looks for its next arrival, so
+ * the lookahead is bounded by the records between two arrivals of the sparsest source; a source
+ * that would need more than {@link #MAX_LOOKAHEAD} queued records scans the log on its own from
+ * then on. Records of sources beyond the requested number are skipped.
+ */
+class WorkloadSplitter {
+    static final int MAX_LOOKAHEAD = 1 << 16;
+
+    private final WorkloadLog log;
+    private final ArrivalCursor shared;
+    private final SourceCursor[] cursors;
+    // records queued over all sources
+    private int queued;
+
+    WorkloadSplitter(WorkloadLog log, int numSources) {
+        this.log = log;
+        this.shared = log.cursor(-1);
+        this.cursors = new SourceCursor[numSources];
+        for (int j = 0; j < numSources; j++) {
+            cursors[j] = new SourceCursor(j, log.getStartTime());
+        }
+    }
+
+    ArrivalCursor[] getCursors() {
+        return cursors.clone();
+    }
+
+    // reads the shared cursor until the target has a queued record; false if the log ends first
+    // or the target had to leave the shared pass
+    private boolean fill(SourceCursor target) {
+        while (target.size == 0) {
+            if (queued >= MAX_LOOKAHEAD) {
+                target.own = log.cursor(target.source);
+                target.own.moveTo(shared.position);
+                return false;
+            }
+            if (!shared.advance()) {
+                return false;
+            }
+            int source = shared.getRecordSource();
+            if (source < 0 || source >= cursors.length) {
+                continue;
+            }
+            SourceCursor cursor = cursors[source];
+            // after a seek the shared cursor re-reads records the source already has
+            if (cursor.own != null || shared.getRecordPosition() <= cursor.horizon) {
+                continue;
+            }
+            cursor.offer(shared.getTime(), shared.getServiceTime(), shared.getRecordPosition());
+            queued++;
+        }
+        return true;
+    }
+
+    private boolean seek(SourceCursor target, long recordPosition) {
+        queued -= target.size;
+        target.size = 0;
+        if (target.own != null) {
+            return target.copy(target.own.seek(recordPosition));
+        }
+        long resume = shared.position;
+        if (!shared.seek(recordPosition)) {
+            return false;
+        }
+        target.time = shared.getTime();
+        target.serviceTime = shared.getServiceTime();
+        target.recordPosition = shared.getRecordPosition();
+        target.horizon = shared.getRecordPosition();
+        // the target's later records were dropped with its queue, so the pass restarts right after
+        // the record unless it had not got that far yet
+        if (resume < shared.position) {
+            shared.moveTo(resume);
+        }
+        return true;
+    }
+
+    private final class SourceCursor extends ArrivalCursor {
+        private double[] times = new double[16];
+        private double[] serviceTimes = new double[16];
+        private long[] positions = new long[16];
+        private int head;
+        private int size;
+        // position of the last record queued or consumed
+        private long horizon = -1;
+        // set once the source scans the log on its own
+        private ArrivalCursor own;
+
+        SourceCursor(int source, double startTime) {
+            super(null, 0, 0, 0, source, startTime);
+            this.recordSource = source;
+        }
+
+        @Override
+        public boolean advance() {
+            if (own != null || !fill(this)) {
+                return own != null && copy(own.advance());
+            }
+            time = times[head];
+            serviceTime = serviceTimes[head];
+            recordPosition = positions[head];
+            head = (head + 1) % times.length;
+            size--;
+            queued--;
+            return true;
+        }
+
+        @Override
+        public boolean seek(long recordPosition) {
+            return WorkloadSplitter.this.seek(this, recordPosition);
+        }
+
+        private boolean copy(boolean found) {
+            if (found) {
+                time = own.getTime();
+                serviceTime = own.getServiceTime();
+                recordPosition = own.getRecordPosition();
+            }
+            return found;
+        }
+
+        private void offer(double time, double serviceTime, long position) {
+            if (size == times.length) {
+                grow();
+            }
+            int tail = (head + size) % times.length;
+            times[tail] = time;
+            serviceTimes[tail] = serviceTime;
+            positions[tail] = position;
+            size++;
+            horizon = position;
+        }
+
+        private void grow() {
+            int capacity = times.length * 2;
+            double[] newTimes = new double[capacity];
+            double[] newServiceTimes = new double[capacity];
+            long[] newPositions = new long[capacity];
+            for (int i = 0; i < size; i++) {
+                int from = (head + i) % times.length;
+                newTimes[i] = times[from];
+                newServiceTimes[i] = serviceTimes[from];
+                newPositions[i] = positions[from];
+            }
+            times = newTimes;
+            serviceTimes = newServiceTimes;
+            positions = newPositions;
+            head = 0;
+        }
+    }
+}
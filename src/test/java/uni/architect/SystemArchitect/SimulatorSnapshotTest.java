@@ -0,0 +1,82 @@
+package uni.architect.SystemArchitect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.SplitMix64;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimulatorSnapshotTest {
+    private static final SimulationConfig CONFIG = SimulationConfig.standard();
+
+    @Test
+    void forkedRunContinuesBitForBit() {
+        for (WorkerSelection selection : WorkerSelection.values()) {
+            SimulationConfig config = CONFIG.toBuilder().workerSelection(selection).build();
+            SimulationResult straight = Simulator.create(config, new SplitMix64(7), true, false).simulate(2000);
+
+            Simulator warm = Simulator.create(config, new SplitMix64(7), true, false);
+            warm.simulate(1000);
+            assertSame(straight, warm.fork(config).simulate(2000));
+        }
+    }
+
+    @Test
+    void snapshotFileRoundTrip(@TempDir Path directory) throws IOException {
+        SimulationResult straight = Simulator.create(CONFIG, new SplitMix64(3), true, false).simulate(2000);
+
+        Simulator warm = Simulator.create(CONFIG, new SplitMix64(3), true, false);
+        warm.simulate(1000);
+        Path file = directory.resolve("state.snap");
+        warm.snapshot().writeTo(file);
+        assertSame(straight, SimulatorSnapshot.readFrom(file).restore(CONFIG).simulate(2000));
+    }
+
+    @Test
+    void smallerBufferDeclinesWhatDoesNotFit() {
+        SimulationConfig config = CONFIG.toBuilder().numWorkers(5).build();
+        Simulator warm = Simulator.create(config, new SplitMix64(1), true, false);
+        warm.simulate(1000);
+        Simulator child = warm.fork(config.toBuilder().bufferCapacity(2).build());
+
+        long before = 0;
+        long after = 0;
+        for (int source = 0; source < config.getNumGenerators(); source++) {
+            before += warm.getDeclined(source) + warm.getBufferCount(source);
+            after += child.getDeclined(source) + child.getBufferCount(source);
+        }
+        assertEquals(before, after);
+    }
+
+    @Test
+    void resetStatisticsKeepsTheTrajectory() {
+        SimulationConfig config = CONFIG.toBuilder().numWorkers(3).bufferCapacity(2)
+                .workerSelection(WorkerSelection.LEAST_TOTAL_WORK).build();
+        Simulator warm = Simulator.create(config, new SplitMix64(5), true, false);
+        warm.simulate(1000);
+        Simulator measured = warm.fork(config);
+        measured.resetStatistics();
+        SimulationResult reset = measured.simulate(2000);
+        SimulationResult straight = warm.fork(config).simulate(2000);
+
+        assertEquals(straight.getEventCount(), measured.getEventCount());
+        for (int source = 0; source < config.getNumGenerators(); source++) {
+            assertEquals(straight.getDeclinedBySource()[source] - warm.getDeclined(source),
+                    reset.getDeclinedBySource()[source]);
+        }
+    }
+
+    private static void assertSame(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getRequestCount(), actual.getRequestCount());
+        assertEquals(expected.getEventCount(), actual.getEventCount());
+        assertEquals(expected.getKpd(), actual.getKpd());
+        assertArrayEquals(expected.getDeclinedBySource(), actual.getDeclinedBySource());
+        assertEquals(expected.getStatistics().getBufferLength().getMean(2000),
+                actual.getStatistics().getBufferLength().getMean(2000));
+    }
+}
@@ -0,0 +1,24 @@
+package uni.architect.SystemArchitect.analytic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BirthDeathApproximationTest {
+
+    @Test
+    void fullProbabilityMatchesClosedForm() {
+        // M/M/1/K: (1 - rho) rho^N / (1 - rho^(N + 1)) with N = 1 + K places in the system
+        for (int capacity : new int[]{0, 1, 5, 20}) {
+            for (double rho : new double[]{0.3, 0.9, 1.7}) {
+                int n = 1 + capacity;
+                double expected = (1 - rho) * Math.pow(rho, n) / (1 - Math.pow(rho, n + 1));
+                assertEquals(expected, BirthDeathApproximation.fullProbability(1, capacity, rho), 1e-12 * expected,
+                        "K = " + capacity + ", rho = " + rho);
+            }
+            assertEquals(1.0 / (capacity + 2), BirthDeathApproximation.fullProbability(1, capacity, 1.0), 1e-12);
+        }
+        // Erlang B for c = 2 and no buffer: (a^2 / 2) / (1 + a + a^2 / 2)
+        assertEquals(2.0 / 5, BirthDeathApproximation.fullProbability(2, 0, 2.0), 1e-12);
+    }
+}
@@ -0,0 +1,45 @@
+package uni.architect.SystemArchitect.analytic;
+
+import org.junit.jupiter.api.Test;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PriorityLossChainTest {
+
+    @Test
+    void singleSourceChainReproducesBirthDeath() {
+        for (int workers = 1; workers <= 3; workers++) {
+            for (int capacity : new int[]{0, 2, 6}) {
+                SimulationConfig config = markovian(workers, capacity, List.of(0.4));
+                AnalyticEstimate exact = PriorityLossChain.solve(config);
+                AnalyticEstimate birthDeath = BirthDeathApproximation.estimate(config);
+                String message = workers + " workers, buffer " + capacity;
+                assertEquals(birthDeath.getFullProbability(), exact.getFullProbability(), 1e-8, message);
+                assertEquals(birthDeath.getDeclineProbability(0), exact.getDeclineProbability(0), 1e-8, message);
+                assertEquals(birthDeath.getKpd(), exact.getKpd(), 1e-8, message);
+            }
+        }
+    }
+
+    @Test
+    void exhaustedSweepBudgetIsReported() {
+        SimulationConfig config = markovian(2, 4, List.of(1.0, 0.5));
+        assertThrows(IllegalStateException.class, () -> PriorityLossChain.solve(config, 1e-12, 2));
+    }
+
+    private static SimulationConfig markovian(int workers, int capacity, List<Double> intervals) {
+        return SimulationConfig.builder()
+                .numWorkers(workers)
+                .bufferCapacity(capacity)
+                .genIntervals(intervals)
+                .maxProcessingTime(1)
+                .arrivalDistributions(Collections.nCopies(intervals.size(), new ExponentialDistribution(1)))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package uni.architect.SystemArchitect.calendar;
+
+import org.junit.jupiter.api.Test;
+import uni.architect.SystemArchitect.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeapEventSchedulerTest {
+
+    @Test
+    void equalTimesPopInSchedulingOrder() {
+        // few distinct times, so most events tie with others scheduled far apart
+        HeapEventScheduler scheduler = new HeapEventScheduler(4);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 1000; i++) {
+            scheduler.schedule(Event.EventType.GENERATION, random.nextInt(5), i);
+        }
+
+        double lastTime = Double.NEGATIVE_INFINITY;
+        int lastObject = -1;
+        while (scheduler.poll()) {
+            double time = scheduler.getCurrentTime();
+            int object = scheduler.getCurrentObjectNumber();
+            assertTrue(time >= lastTime);
+            if (time == lastTime) {
+                assertTrue(object > lastObject, "object " + object + " after " + lastObject + " at " + time);
+            }
+            lastTime = time;
+            lastObject = object;
+        }
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void forEachInOrderMatchesPopOrder() {
+        HeapEventScheduler scheduler = new HeapEventScheduler(4);
+        SplittableRandom random = new SplittableRandom(2);
+        int object = 0;
+        // interleave pops with schedules so sequence numbers and heap positions get mixed up
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 20; i++) {
+                scheduler.schedule(Event.EventType.values()[random.nextInt(3)], round + random.nextInt(4), object++);
+            }
+            for (int i = 0; i < 10; i++) {
+                assertTrue(scheduler.poll());
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        scheduler.forEachInOrder((type, time, number) -> expected.add(type + " " + time + " " + number));
+        List<String> popped = new ArrayList<>();
+        while (scheduler.poll()) {
+            popped.add(scheduler.getCurrentType() + " " + scheduler.getCurrentTime() + " "
+                    + scheduler.getCurrentObjectNumber());
+        }
+        assertEquals(expected, popped);
+        assertFalse(scheduler.poll());
+    }
+}
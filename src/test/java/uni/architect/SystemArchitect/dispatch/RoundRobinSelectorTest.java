@@ -0,0 +1,52 @@
+package uni.architect.SystemArchitect.dispatch;
+
+import org.junit.jupiter.api.Test;
+import uni.architect.SystemArchitect.model.Worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoundRobinSelectorTest {
+
+    @Test
+    void matchesLinearScan() {
+        // around the word boundaries of the bit set and across its second level
+        for (int numWorkers : new int[]{63, 64, 65, 4097}) {
+            for (long seed = 1; seed <= 3; seed++) {
+                compare(numWorkers, seed);
+            }
+        }
+    }
+
+    private static void compare(int numWorkers, long seed) {
+        List<Worker> workers = new ArrayList<>(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            workers.add(new Worker(i, false, 0.0, null, null, 0, null));
+        }
+        RoundRobinSelector selector = new RoundRobinSelector(numWorkers);
+        ScanRoundRobinSelector reference = new ScanRoundRobinSelector(workers);
+        List<Integer> busy = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int step = 0; step < 12 * numWorkers; step++) {
+            // drift between an almost idle and a saturated system
+            double selectShare = (step / (3 * numWorkers)) % 2 == 0 ? 0.7 : 0.3;
+            if (busy.isEmpty() || random.nextDouble() < selectShare) {
+                int worker = selector.select();
+                assertEquals(reference.select(), worker, numWorkers + " workers, seed " + seed + ", step " + step);
+                if (worker >= 0) {
+                    workers.get(worker).setBusy(true);
+                    selector.onBusy(worker);
+                    busy.add(worker);
+                }
+            } else {
+                int worker = busy.remove(random.nextInt(busy.size()));
+                workers.get(worker).setBusy(false);
+                selector.onIdle(worker);
+            }
+        }
+    }
+}
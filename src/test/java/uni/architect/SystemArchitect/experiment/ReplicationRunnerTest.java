@@ -0,0 +1,54 @@
+package uni.architect.SystemArchitect.experiment;
+
+import org.junit.jupiter.api.Test;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicationRunnerTest {
+    private static final SimulationConfig CONFIG = SimulationConfig.standard().toBuilder()
+            .bufferCapacity(3)
+            .simulationTime(500)
+            .build();
+    private static final int REPLICATIONS = 9;
+
+    @Test
+    void resultsDoNotDependOnParallelism() {
+        List<SimulationResult> single;
+        try (ReplicationRunner runner = new ReplicationRunner(1)) {
+            single = runner.runAll(CONFIG, REPLICATIONS, 42, 0);
+        }
+        try (ReplicationRunner runner = new ReplicationRunner(4)) {
+            assertSame(single, runner.runAll(CONFIG, REPLICATIONS, 42, 0));
+        }
+        assertSame(single, ReplicationRunner.runSequential(CONFIG, REPLICATIONS, 42, 0));
+    }
+
+    @Test
+    void batchesMatchSingleCall() {
+        try (ReplicationRunner runner = new ReplicationRunner(4)) {
+            List<SimulationResult> whole = runner.runAll(CONFIG, REPLICATIONS, 42, 0);
+            List<SimulationResult> batched = new ArrayList<>();
+            for (int first = 0; first < REPLICATIONS; first += 4) {
+                batched.addAll(runner.runAll(CONFIG, Math.min(4, REPLICATIONS - first), 42, first));
+            }
+            assertSame(whole, batched);
+        }
+    }
+
+    private static void assertSame(List<SimulationResult> expected, List<SimulationResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String message = "replication " + i;
+            assertEquals(expected.get(i).getKpd(), actual.get(i).getKpd(), message);
+            assertEquals(expected.get(i).getRequestCount(), actual.get(i).getRequestCount(), message);
+            assertEquals(expected.get(i).getEventCount(), actual.get(i).getEventCount(), message);
+            assertArrayEquals(expected.get(i).getDeclinedBySource(), actual.get(i).getDeclinedBySource(), message);
+        }
+    }
+}
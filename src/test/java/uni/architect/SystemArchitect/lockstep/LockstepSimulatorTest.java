@@ -0,0 +1,69 @@
+package uni.architect.SystemArchitect.lockstep;
+
+import org.junit.jupiter.api.Test;
+import uni.architect.SystemArchitect.SimulationConfig;
+import uni.architect.SystemArchitect.SimulationResult;
+import uni.architect.SystemArchitect.dispatch.WorkerSelection;
+import uni.architect.SystemArchitect.distribution.ExponentialDistribution;
+import uni.architect.SystemArchitect.experiment.ReplicationRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LockstepSimulatorTest {
+    private static final SimulationConfig CONFIG = SimulationConfig.standard().toBuilder()
+            .arrivalDistributions(Collections.nCopies(3, new ExponentialDistribution(1)))
+            .simulationTime(500)
+            .build();
+    // not a multiple of 3, 4 or 8, so the last group of lanes is partial
+    private static final int REPLICATIONS = 10;
+
+    @Test
+    void matchesObjectModelBitForBit() {
+        try (ReplicationRunner runner = new ReplicationRunner(2)) {
+            List<SimulationResult> reference = runner.runAll(CONFIG, REPLICATIONS, 11, 0);
+            for (int lanes : new int[]{1, 3, 4, 8}) {
+                List<SimulationResult> results = runner.runLockstep(CONFIG, REPLICATIONS, 11, 0, lanes);
+                assertEquals(REPLICATIONS, results.size());
+                for (int i = 0; i < REPLICATIONS; i++) {
+                    String message = lanes + " lanes, replication " + i;
+                    SimulationResult expected = reference.get(i);
+                    SimulationResult actual = results.get(i);
+                    assertEquals(expected.getKpd(), actual.getKpd(), message);
+                    assertEquals(expected.getRequestCount(), actual.getRequestCount(), message);
+                    assertEquals(expected.getDeclinedCount(), actual.getDeclinedCount(), message);
+                    assertArrayEquals(expected.getDeclinedBySource(), actual.getDeclinedBySource(), message);
+                    assertEquals(expected.getEventCount(), actual.getEventCount(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedConfigurations() {
+        assertThrows(IllegalArgumentException.class, () -> new LockstepSimulator(CONFIG, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG.toBuilder().simulationTime(-1).build(), 4));
+        assertThrows(IllegalArgumentException.class, () -> new LockstepSimulator(
+                CONFIG.toBuilder().workerSelection(WorkerSelection.LEAST_TOTAL_WORK).build(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG.toBuilder().commonRandomNumbers(true).build(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG.toBuilder().warmupObservationRequests(100).build(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG.toBuilder().sensitivityHorizon(10).build(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG.toBuilder().numWorkers(Long.SIZE + 1).build(), 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSimulator(CONFIG, 2).run(List.of(new SplittableRandom(1),
+                        new SplittableRandom(2), new SplittableRandom(3))));
+        try (ReplicationRunner runner = new ReplicationRunner(1)) {
+            assertThrows(IllegalArgumentException.class, () -> runner.runLockstep(CONFIG, 4, 1, 0, 0));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package uni.architect.SystemArchitect.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PriorityRingBufferTest {
+
+    @Test
+    void behavesLikeBufferOnRandomWorkloads() {
+        int[] capacities = {0, 1, 2, 3, 10, 50};
+        int[] sourceCounts = {1, 2, 3, 7, 64};
+        for (int capacity : capacities) {
+            for (int sources : sourceCounts) {
+                for (long seed = 0; seed < 20; seed++) {
+                    compare(capacity, sources, seed, 0.3);
+                    compare(capacity, sources, seed, 0.7);
+                }
+            }
+        }
+    }
+
+    @Test
+    void keepsPackageStickinessWhenHigherPriorityArrives() {
+        PriorityRingBuffer buffer = new PriorityRingBuffer(5, 3);
+        buffer.addRequest(new Request(2, 1));
+        buffer.addRequest(new Request(2, 2));
+        assertEquals("3.1", buffer.getNextRequest().getNumber());
+
+        buffer.addRequest(new Request(0, 1));
+        assertEquals("3.2", buffer.getNextRequest().getNumber());
+        assertEquals("1.1", buffer.getNextRequest().getNumber());
+    }
+
+    @Test
+    void evictsNewestRequestOfLowestPriority() {
+        PriorityRingBuffer buffer = new PriorityRingBuffer(3, 3);
+        buffer.addRequest(new Request(1, 1));
+        buffer.addRequest(new Request(2, 1));
+        buffer.addRequest(new Request(2, 2));
+
+        assertEquals("3.2", buffer.addRequest(new Request(0, 1)).getNumber());
+        assertEquals("3.1", buffer.addRequest(new Request(1, 2)).getNumber());
+        assertEquals("2.3", buffer.addRequest(new Request(1, 3)).getNumber());
+        assertEquals("[1: 1.1; 2: 2.1, 2.2; ]", buffer.getState());
+    }
+
+    @Test
+    void bulkInsertMatchesOneByOne() {
+        int[] capacities = {0, 1, 3, 10, 50};
+        int[] sourceCounts = {1, 3, 7};
+        for (int capacity : capacities) {
+            for (int sources : sourceCounts) {
+                for (long seed = 0; seed < 20; seed++) {
+                    compareBulk(capacity, sources, seed);
+                }
+            }
+        }
+    }
+
+    private static void compareBulk(int capacity, int sources, long seed) {
+        PriorityRingBuffer single = new PriorityRingBuffer(capacity, sources);
+        PriorityRingBuffer bulk = new PriorityRingBuffer(capacity, sources);
+        Random random = new Random(seed);
+        int[] genCounts = new int[sources];
+        Request[] batch = new Request[2 * capacity + 2];
+        Request[] declined = new Request[batch.length];
+        String context = "capacity=" + capacity + ", sources=" + sources + ", seed=" + seed;
+
+        for (int step = 0; step < 1000; step++) {
+            if (random.nextDouble() < 0.5) {
+                int source = random.nextInt(sources);
+                int size = 1 + random.nextInt(batch.length);
+                for (int i = 0; i < size; i++) {
+                    batch[i] = new Request(source, ++genCounts[source]);
+                }
+                int count = bulk.addRequests(batch, 0, size, declined);
+                int expected = 0;
+                for (int i = 0; i < size; i++) {
+                    Request request = single.addRequest(batch[i]);
+                    if (request != null) {
+                        assertSame(request, declined[expected++], context + ", step=" + step);
+                    }
+                }
+                assertEquals(expected, count, context + ", step=" + step);
+            } else {
+                assertSame(single.getNextRequest(), bulk.getNextRequest(), context + ", step=" + step);
+            }
+            assertEquals(single.getState(), bulk.getState(), context);
+            assertEquals(single.getCurrentPriorityPackage(), bulk.getCurrentPriorityPackage(), context);
+        }
+    }
+
+    private static void compare(int capacity, int sources, long seed, double addProbability) {
+        Buffer reference = new Buffer(capacity);
+        PriorityRingBuffer ring = new PriorityRingBuffer(capacity, sources);
+        Random random = new Random(seed);
+        int[] genCounts = new int[sources];
+        String context = "capacity=" + capacity + ", sources=" + sources + ", seed=" + seed;
+
+        for (int step = 0; step < 2000; step++) {
+            if (random.nextDouble() < addProbability) {
+                int source = random.nextInt(sources);
+                Request request = new Request(source, ++genCounts[source]);
+                assertSame(reference.addRequest(request), ring.addRequest(request), context + ", step=" + step);
+            } else {
+                assertSame(reference.getNextRequest(), ring.getNextRequest(), context + ", step=" + step);
+            }
+
+            assertEquals(reference.getCurrentSize(), ring.getCurrentSize(), context);
+            assertEquals(reference.isFull(), ring.isFull(), context);
+            // Buffer prints packages in HashMap order, which is ascending only while keys fit the table
+            if (sources <= 16) {
+                assertEquals(reference.getState(), ring.getState(), context);
+            }
+            Integer expectedPackage = reference.getCurrentPriorityPackage();
+            if (expectedPackage != null) {
+                assertEquals(expectedPackage.intValue(), ring.getCurrentPriorityPackage(), context);
+            }
+        }
+    }
+}
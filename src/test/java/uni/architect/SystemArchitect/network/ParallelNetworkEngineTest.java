@@ -0,0 +1,28 @@
+package uni.architect.SystemArchitect.network;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelNetworkEngineTest {
+
+    @Test
+    void matchesSequentialEngineOnBankNetwork() {
+        compare(NetworkConfig.bank(), 2000);
+    }
+
+    @Test
+    void matchesSequentialEngineOnLayeredNetwork() {
+        compare(NetworkConfig.layered(8, 32), 200);
+    }
+
+    private static void compare(NetworkConfig config, double endTime) {
+        for (long seed = 1; seed <= 2; seed++) {
+            NetworkResult reference = new SequentialNetworkEngine().run(config, seed, endTime);
+            for (int threads : new int[]{1, 2, 4, 8}) {
+                NetworkResult result = new ParallelNetworkEngine(threads).run(config, seed, endTime);
+                assertTrue(result.matches(reference), threads + " threads, seed " + seed);
+            }
+        }
+    }
+}
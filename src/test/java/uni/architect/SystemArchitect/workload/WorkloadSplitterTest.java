@@ -0,0 +1,111 @@
+package uni.architect.SystemArchitect.workload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadSplitterTest {
+    private static final int SOURCES = 3;
+
+    @Test
+    void matchesPerSourceScans(@TempDir Path directory) throws IOException {
+        // source 2 only appears at the start and the end, so its lookahead overflows and it scans alone
+        Path csv = writeLog(directory.resolve("log.csv"), 2 * WorkloadSplitter.MAX_LOOKAHEAD);
+        Path binary = directory.resolve("log.bin");
+        WorkloadConverter.convert(csv, binary);
+        for (Path file : List.of(csv, binary)) {
+            try (WorkloadLog log = new WorkloadLog(file, CsvArrivalCursor.MAX_LINE * 4)) {
+                ArrivalCursor[] cursors = log.cursors(SOURCES);
+                List<List<double[]>> records = new ArrayList<>();
+                for (int j = 0; j < SOURCES; j++) {
+                    records.add(new ArrayList<>());
+                }
+                // drain in the interleaved order a simulator would ask in
+                boolean any = true;
+                while (any) {
+                    any = false;
+                    for (int j = 0; j < SOURCES; j++) {
+                        if (cursors[j].advance()) {
+                            records.get(j).add(record(cursors[j]));
+                            any = true;
+                        }
+                    }
+                }
+                for (int j = 0; j < SOURCES; j++) {
+                    ArrivalCursor reference = log.cursor(j);
+                    for (double[] record : records.get(j)) {
+                        assertTrue(reference.advance());
+                        assertEquals(reference.getTime(), record[0], file + ", source " + j);
+                        assertEquals(reference.getServiceTime(), record[1], file + ", source " + j);
+                        assertEquals(reference.getRecordPosition(), (long) record[2], file + ", source " + j);
+                    }
+                    assertFalse(reference.advance());
+                }
+            }
+        }
+    }
+
+    @Test
+    void seekRestartsEverySource(@TempDir Path directory) throws IOException {
+        Path csv = writeLog(directory.resolve("log.csv"), 2000);
+        try (WorkloadLog log = new WorkloadLog(csv)) {
+            ArrivalCursor[] cursors = log.cursors(SOURCES - 1);
+            long[] positions = new long[SOURCES - 1];
+            for (int j = 0; j < positions.length; j++) {
+                for (int i = 0; i < 100 * (j + 1); i++) {
+                    assertTrue(cursors[j].advance());
+                }
+                positions[j] = cursors[j].getRecordPosition();
+            }
+            for (int i = 0; i < 200; i++) {
+                cursors[0].advance();
+            }
+
+            // a fresh set of cursors restored out of order, like a snapshot restore does
+            ArrivalCursor[] restored = log.cursors(SOURCES - 1);
+            restored[0].advance();
+            for (int j = positions.length - 1; j >= 0; j--) {
+                assertTrue(restored[j].seek(positions[j]));
+            }
+            for (int j = 0; j < positions.length; j++) {
+                ArrivalCursor reference = log.cursor(j);
+                assertTrue(reference.seek(positions[j]));
+                assertEquals(reference.getRecordPosition(), restored[j].getRecordPosition(), "source " + j);
+                while (reference.advance()) {
+                    assertTrue(restored[j].advance());
+                    assertEquals(reference.getRecordPosition(), restored[j].getRecordPosition(), "source " + j);
+                }
+                assertFalse(restored[j].advance());
+            }
+        }
+    }
+
+    private static double[] record(ArrivalCursor cursor) {
+        return new double[]{cursor.getTime(), cursor.getServiceTime(), cursor.getRecordPosition()};
+    }
+
+    private static Path writeLog(Path file, int records) throws IOException {
+        SplittableRandom random = new SplittableRandom(1);
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("time,source,service\n");
+            double time = 100;
+            for (int i = 0; i < records; i++) {
+                time += random.nextDouble();
+                int source = i == 0 || i == records - 1 ? SOURCES - 1 : random.nextInt(SOURCES - 1);
+                writer.write(time + "," + (source + 1) + (i % 3 == 0 ? "," : "," + random.nextDouble()) + "\n");
+            }
+        }
+        return file;
+    }
+}